@@ -0,0 +1,92 @@
+package com.benchmarks;
+
+import com.framework.JobScheduler;
+import com.framework.Strategies.PartitionedGroupingStrategy;
+import com.framework.Utils.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the grouping of JobScheduler.collect at varying key cardinalities,
+ * with the default single-map grouping and with the partitioned grouping strategy.
+ * 
+ * @author Faxy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectBenchmark {
+    private static final int PAIRS = 1_000_000;
+
+    @Param({"100", "10000", "1000000"})
+    public int cardinality;
+
+    @Param({"default", "partitioned"})
+    public String grouping;
+
+    private List<Pair<String, String>> pairs;
+    private Harness scheduler;
+    private PartitionedGroupingStrategy<String, String> partitioned;
+
+    /**
+     * Exposes the frozen collect stage of the framework to the benchmark.
+     */
+    static class Harness extends JobScheduler<String, String> {
+        Stream<Pair<String, List<String>>> group(Stream<Pair<String, String>> stream) {
+            return collect(stream);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        String[] keys = new String[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            keys[i] = "key" + i;
+        }
+        pairs = new ArrayList<>(PAIRS);
+        for (int i = 0; i < PAIRS; i++) {
+            String key = keys[random.nextInt(cardinality)];
+            pairs.add(new Pair<>(key, key));
+        }
+
+        scheduler = new Harness();
+        if (grouping.equals("partitioned")) {
+            partitioned = new PartitionedGroupingStrategy<>(Runtime.getRuntime().availableProcessors());
+            scheduler.setGroupingStrategy(partitioned);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (partitioned != null) {
+            partitioned.close();
+        }
+    }
+
+    @Benchmark
+    public long collect() {
+        return scheduler.group(pairs.stream()).count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic scale-up generator for benchmark inputs.
+ * 
+ * Builds text files of a given size by sampling lines of the bundled Books corpus with a fixed seed,
+ * so that the generated corpus is reproducible and has the same word distribution as real books.
+ * 
+ * Usage: java com.benchmarks.CorpusGenerator <books-dir> <output-dir> <files> <MB-per-file>
+ * 
+ * @author Faxy
+ */
+public class CorpusGenerator {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: java CorpusGenerator <books-dir> <output-dir> <files> <MB-per-file>");
+            System.exit(1);
+        }
+        generate(Path.of(args[0]), Path.of(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]) << 20);
+    }
+
+    /**
+     * Generates the synthetic corpus.
+     * 
+     * @param booksDir -> directory of the source .txt files
+     * @param outputDir -> directory receiving the generated files (created if missing)
+     * @param files -> number of files to generate
+     * @param bytesPerFile -> approximate size of every generated file
+     * @return The paths of the generated files
+     * @throws IOException if the files cannot be read or written
+     */
+    public static List<Path> generate(Path booksDir, Path outputDir, int files, long bytesPerFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> books = Files.list(booksDir)) {
+            for (Path book : books.filter(path -> path.toString().endsWith(".txt")).sorted().toList()) {
+                lines.addAll(Files.readAllLines(book, StandardCharsets.UTF_8));
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("No .txt files found in " + booksDir);
+        }
+
+        Files.createDirectories(outputDir);
+        Random random = new Random(SEED);
+        List<Path> generated = new ArrayList<>(files);
+        for (int i = 0; i < files; i++) {
+            Path file = outputDir.resolve("synthetic_" + i + ".txt");
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                long written = 0;
+                while (written < bytesPerFile) {
+                    String line = lines.get(random.nextInt(lines.size()));
+                    writer.write(line);
+                    writer.newLine();
+                    written += line.length() + 1;
+                }
+            }
+            generated.add(file);
+        }
+        return generated;
+    }
+
+    /**
+     * Deletes a directory created for a benchmark, with its content.
+     * 
+     * @param dir -> the directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
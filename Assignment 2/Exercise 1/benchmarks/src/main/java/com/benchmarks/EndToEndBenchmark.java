@@ -0,0 +1,89 @@
+package com.benchmarks;
+
+import com.anagrams.AnagramJobScheduler;
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.TextFileOutputStrategy;
+import com.framework.Strategies.ParallelExecutionStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a whole AnagramJobScheduler run (emit, compute, collect, text output),
+ * either over the bundled Books corpus or over a synthetic corpus scaled up from it.
+ * 
+ * @author Faxy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    @Param({"books", "scaled"})
+    public String corpus;
+
+    @Param({"sequential", "parallel"})
+    public String execution;
+
+    @Param({"../Books"})
+    public String booksDir;
+
+    @Param({"32"})
+    public int scaledFiles;
+
+    @Param({"4"})
+    public int scaledFileMB;
+
+    private Path workDir;
+    private String inputDir;
+    private ParallelExecutionStrategy executionStrategy;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("e2e-bench");
+        inputDir = booksDir;
+        if (corpus.equals("scaled")) {
+            Path scaledDir = workDir.resolve("corpus");
+            CorpusGenerator.generate(Path.of(booksDir), scaledDir, scaledFiles, (long) scaledFileMB << 20);
+            inputDir = scaledDir.toString();
+        }
+        if (execution.equals("parallel")) {
+            executionStrategy = ParallelExecutionStrategy.forkJoin(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (executionStrategy != null) {
+            executionStrategy.close();
+        }
+        CorpusGenerator.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public void run() {
+        AnagramJobScheduler scheduler = new AnagramJobScheduler();
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(inputDir));
+        scheduler.setOutputStrategy(new TextFileOutputStrategy(workDir.resolve("count_anagrams.txt").toString()));
+        scheduler.setExecutionStrategy(executionStrategy);
+        scheduler.main();
+    }
+}
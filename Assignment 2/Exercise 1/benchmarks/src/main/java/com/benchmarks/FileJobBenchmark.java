@@ -0,0 +1,79 @@
+package com.benchmarks;
+
+import com.anagrams.AnagramSignature;
+import com.anagrams.FileJob;
+import com.framework.Utils.Pair;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the tokenization of FileJob.execute over a synthetic file.
+ * 
+ * The primary score is in files per second; the "megabytes" counter reports the tokenization throughput in MB/s.
+ * 
+ * @author Faxy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileJobBenchmark {
+    @Param({"1", "16"})
+    public int sizeMB;
+
+    @Param({"../Books"})
+    public String booksDir;
+
+    private Path corpusDir;
+    private String file;
+
+    /**
+     * Counts the megabytes tokenized, reported as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long megabytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        corpusDir = Files.createTempDirectory("filejob-bench");
+        file = CorpusGenerator.generate(Path.of(booksDir), corpusDir, 1, (long) sizeMB << 20).get(0).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CorpusGenerator.deleteRecursively(corpusDir);
+    }
+
+    @Benchmark
+    public long tokenize(Throughput throughput) {
+        try (Stream<Pair<AnagramSignature, String>> pairs = new FileJob(file).execute()) {
+            long count = pairs.count();
+            throughput.megabytes += sizeMB;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmarks;
+
+import com.anagrams.AnagramSignature;
+import com.anagrams.Strategies.CSVFileOutputStrategy;
+import com.anagrams.Strategies.TextFileOutputStrategy;
+import com.framework.Columnar.ColumnarOutputStrategy;
+import com.framework.Strategies.OutputStrategy;
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the write path of the text, CSV and columnar output strategies.
+ * 
+ * @author Faxy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputBenchmark {
+    @Param({"10000", "1000000"})
+    public int keys;
+
+    @Param({"text", "csv", "columnar"})
+    public String format;
+
+    private List<Pair<AnagramSignature, List<String>>> groups;
+    private Path outputDir;
+    private OutputStrategy<AnagramSignature, String> strategy;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        groups = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            String word = Integer.toString(i, 26).chars()
+                .map(c -> Character.isDigit(c) ? 'a' + c - '0' : c + 10)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+            groups.add(new Pair<>(AnagramSignature.of(word), List.of(word, word, word)));
+        }
+
+        outputDir = Files.createTempDirectory("output-bench");
+        String outputFile = outputDir.resolve("count_anagrams." + format).toString();
+        strategy = switch (format) {
+            case "csv" -> new CSVFileOutputStrategy(outputFile);
+            case "columnar" -> new ColumnarOutputStrategy<>(outputFile, AnagramSignature.CODEC, Codec.strings(), true);
+            default -> new TextFileOutputStrategy(outputFile);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CorpusGenerator.deleteRecursively(outputDir);
+    }
+
+    @Benchmark
+    public void write() {
+        strategy.output(groups.stream());
+    }
+}
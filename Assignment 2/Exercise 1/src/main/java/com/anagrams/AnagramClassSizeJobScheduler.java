@@ -0,0 +1,53 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectorySignatureEmitStrategy;
+import com.anagrams.Strategies.TextFileClassSizeOutputStrategy;
+
+import com.framework.Primitives.LongReducingJobScheduler;
+import com.framework.Strategies.ParallelExecutionStrategy;
+
+/**
+ * Computes the distribution of the sizes of the anagram classes with the primitive variant of the framework.
+ *
+ * Words are counted per anagram class like in AnagramCountJobScheduler, but classes are keyed by the 64-bit hash
+ * of their signature and counted in primitive maps, so the whole run allocates no object per word.
+ * Since hashes cannot be decoded back to canonical forms, only the number of classes of each size is written,
+ * to class_sizes.txt.
+ *
+ * @author Faxy
+ */
+public class AnagramClassSizeJobScheduler extends LongReducingJobScheduler {
+
+    /**
+     * Constructor that configures the scheduler to count the words of each anagram class.
+     */
+    public AnagramClassSizeJobScheduler() {
+        super(Long::sum);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: java AnagramClassSizeJobScheduler <directory-path>");
+            System.exit(1);
+        }
+
+        AnagramClassSizeJobScheduler scheduler = new AnagramClassSizeJobScheduler();
+
+        // Set the Emit and Output strategies
+        String directoryPath = args[0];
+        scheduler.setEmitStrategy(new DirectorySignatureEmitStrategy(directoryPath, FileRangeJob.DEFAULT_SPLIT_SIZE));
+        scheduler.setOutputStrategy(new TextFileClassSizeOutputStrategy("class_sizes.txt"));
+
+        // Run the jobs in parallel, one per available core
+        ParallelExecutionStrategy executionStrategy =
+            ParallelExecutionStrategy.forkJoin(Runtime.getRuntime().availableProcessors());
+        scheduler.setExecutionStrategy(executionStrategy);
+
+        // Run the scheduler, shutting down the thread pool even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+        }
+    }
+}
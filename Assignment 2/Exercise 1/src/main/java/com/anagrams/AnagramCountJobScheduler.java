@@ -0,0 +1,80 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.OutputOrder;
+import com.anagrams.Strategies.TextFileCountOutputStrategy;
+import com.anagrams.Strategies.TextFileTopCountOutputStrategy;
+
+import com.framework.Combiner;
+import com.framework.ReducingJobScheduler;
+import com.framework.Strategies.CostAwareExecutionStrategy;
+import com.framework.Strategies.CostModel;
+import com.framework.Strategies.JobCostHistory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts anagrams with the reducing variant of the framework.
+ * 
+ * Produces the same count_anagrams.txt as AnagramJobScheduler, but only keeps one counter
+ * per anagram class instead of the list of all the words that belong to it.
+ * With a number N, only the N largest classes are written, to top_anagrams.txt.
+ * With --sorted, the classes of count_anagrams.txt are sorted by key (e.g. to compare runs with diff).
+ * Jobs are scheduled longest first, from the size of their input or, with --history, from their running times
+ * in previous runs (kept in the temporary directory).
+ * 
+ * @author Faxy
+ */
+public class AnagramCountJobScheduler extends ReducingJobScheduler<AnagramSignature, String, Long> {
+    private static final double SPECULATION_FACTOR = 3; // Jobs running 3 times longer than expected are duplicated
+
+    /**
+     * Constructor that configures the scheduler to count the words of each anagram class.
+     */
+    public AnagramCountJobScheduler() {
+        super(Combiner.counting());
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean withHistory = arguments.remove("--history");
+        boolean sorted = arguments.remove("--sorted");
+        if (arguments.size() < 1 || arguments.size() > 2) {
+            System.err.println("Usage: java AnagramCountJobScheduler [--history] [--sorted] <directory-path> [top-n]");
+            System.exit(1);
+        }
+
+        AnagramCountJobScheduler scheduler = new AnagramCountJobScheduler();
+
+        // Set the Emit and Output strategies
+        String directoryPath = arguments.get(0);
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.STREAM, FileRangeJob.DEFAULT_SPLIT_SIZE));
+        if (arguments.size() == 2) {
+            scheduler.setOutputStrategy(new TextFileTopCountOutputStrategy("top_anagrams.txt", Integer.parseInt(arguments.get(1))));
+        } else {
+            scheduler.setOutputStrategy(new TextFileCountOutputStrategy("count_anagrams.txt", sorted ? OutputOrder.BY_KEY : OutputOrder.UNORDERED));
+        }
+
+        // Run the jobs in parallel, one per available core, longest first by input size or according to the previous runs
+        JobCostHistory history = withHistory
+            ? JobCostHistory.load(Path.of(System.getProperty("java.io.tmpdir"), "anagram-job-costs.txt"))
+            : null;
+        CostAwareExecutionStrategy executionStrategy = CostAwareExecutionStrategy.fixed(
+            Runtime.getRuntime().availableProcessors(), history != null ? history : CostModel.inputSize());
+        executionStrategy.setSpeculationFactor(SPECULATION_FACTOR);
+        scheduler.setExecutionStrategy(executionStrategy);
+
+        // Run the scheduler, shutting down the thread pool and keeping the running times even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+            if (history != null) {
+                history.save();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.TextFileDistinctOutputStrategy;
+
+import com.framework.Combiner;
+import com.framework.ReducingJobScheduler;
+import com.framework.Sketches.HyperLogLog;
+import com.framework.Strategies.ParallelExecutionStrategy;
+
+/**
+ * Estimates the number of distinct words of each anagram class with the reducing variant of the framework.
+ * 
+ * Every class is folded into a HyperLogLog sketch, exact while the class is small and bounded to
+ * 2^precision bytes otherwise, so memory depends on the number of classes and not on the size of the corpus.
+ * Produces distinct_anagrams.txt, with the standard error of every approximate estimate.
+ * 
+ * @author Faxy
+ */
+public class AnagramDistinctJobScheduler extends ReducingJobScheduler<AnagramSignature, String, HyperLogLog> {
+    private static final int DEFAULT_PRECISION = 12; // 4KB per large class, 1.6% standard error
+
+    /**
+     * Constructor that configures the scheduler to estimate the distinct words of each anagram class.
+     * 
+     * @param precision - Precision of the sketches
+     */
+    public AnagramDistinctJobScheduler(int precision) {
+        super(Combiner.distinct(precision, AnagramDistinctJobScheduler::hash));
+    }
+
+    /**
+     * 64-bit hash of a word (FNV-1a, then mixed), avoiding the collisions of the 32-bit String.hashCode on huge corpora.
+     * 
+     * @param word -> the word to hash
+     * @return The hash of the word
+     */
+    private static long hash(String word) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h ^= word.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return HyperLogLog.hash(h);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java AnagramDistinctJobScheduler <directory-path> [precision]");
+            System.exit(1);
+        }
+
+        int precision = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_PRECISION;
+        AnagramDistinctJobScheduler scheduler = new AnagramDistinctJobScheduler(precision);
+
+        // Set the Emit and Output strategies
+        String directoryPath = args[0];
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.MAPPED, FileRangeJob.DEFAULT_SPLIT_SIZE));
+        TextFileDistinctOutputStrategy outputStrategy = new TextFileDistinctOutputStrategy("distinct_anagrams.txt");
+        scheduler.setOutputStrategy(outputStrategy);
+
+        // Run the jobs (one per file) in parallel, one per available core
+        ParallelExecutionStrategy executionStrategy =
+            ParallelExecutionStrategy.forkJoin(Runtime.getRuntime().availableProcessors());
+        scheduler.setExecutionStrategy(executionStrategy);
+
+        // Run the scheduler, shutting down the thread pool even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+        }
+
+        System.out.println(outputStrategy.getClasses() + " anagram classes, about "
+            + outputStrategy.getDistinctWords() + " distinct words");
+    }
+}
@@ -0,0 +1,49 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.OutputOrder;
+import com.anagrams.Strategies.TextFileOutputStrategy;
+
+import com.framework.Distributed.DistributedJobScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the anagram count with the multi-process variant of the framework,
+ * executing the files in worker JVMs that are restarted if they crash.
+ * With --sorted, the classes are written sorted by key (e.g. to compare runs with diff).
+ * 
+ * @author Faxy
+ */
+public class AnagramDistributedJobScheduler extends DistributedJobScheduler<AnagramSignature, String> {
+
+    /**
+     * Constructor that configures the scheduler to ship anagram pairs.
+     */
+    public AnagramDistributedJobScheduler() {
+        super(AnagramWireFormat.class);
+    }
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean sorted = arguments.remove("--sorted");
+        if (arguments.size() < 1 || arguments.size() > 2) {
+            System.err.println("Usage: java AnagramDistributedJobScheduler [--sorted] <directory-path> [workers]");
+            System.exit(1);
+        }
+
+        AnagramDistributedJobScheduler scheduler = new AnagramDistributedJobScheduler();
+        if (arguments.size() == 2) {
+            scheduler.setWorkers(Integer.parseInt(arguments.get(1)));
+        }
+
+        // Set the Emit and Output strategies
+        String directoryPath = arguments.get(0);
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.MAPPED, FileRangeJob.DEFAULT_SPLIT_SIZE));
+        scheduler.setOutputStrategy(new TextFileOutputStrategy("count_anagrams.txt", sorted ? OutputOrder.BY_KEY : OutputOrder.UNORDERED));
+
+        // Run the scheduler
+        scheduler.main();
+    }
+}
@@ -0,0 +1,231 @@
+package com.anagrams;
+
+import com.framework.Utils.Pair;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of an anagram index written by IndexFileOutputStrategy.
+ *
+ * The index file is memory-mapped and queried in place: looking up a word is a binary search
+ * over the class block, and no part of the file is parsed up front, so opening an index is immediate
+ * and the OS page cache is shared by every reader of the same file. Instances are safe for concurrent use.
+ *
+ * File format (big-endian):
+ * - header: magic, format version, number of classes (int), number of words (int), size of the string pool (long);
+ * - class block, sorted by canonical form: for each class, pool offset and length of the canonical form (int, int),
+ *   count of words (long), index of its first word and number of distinct words (int, int);
+ * - ranking block: class indices sorted by descending count (int);
+ * - word block: pool offset and length of every distinct word, grouped by class and sorted (int, int);
+ * - string pool: UTF-8 canonical forms and words.
+ *
+ * @author Faxy
+ */
+public class AnagramIndex implements AutoCloseable {
+    public static final int MAGIC = 0x414E4958; // "ANIX"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 24;
+    private static final int CLASS_ENTRY_SIZE = 24;
+    private static final int WORD_ENTRY_SIZE = 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int classCount;
+    private final int rankingOffset;
+    private final int wordsOffset;
+    private final int poolOffset;
+
+    private AnagramIndex(FileChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.classCount = buffer.getInt(8);
+        int wordCount = buffer.getInt(12);
+        this.rankingOffset = HEADER_SIZE + classCount * CLASS_ENTRY_SIZE;
+        this.wordsOffset = rankingOffset + classCount * Integer.BYTES;
+        this.poolOffset = (int) poolOffset(classCount, wordCount);
+    }
+
+    /**
+     * Opens and maps an index file.
+     *
+     * @param path -> path of the index file
+     * @return The opened index
+     * @throws IOException if the file cannot be read or is not an anagram index
+     */
+    public static AnagramIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not an anagram index.");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported index format version " + buffer.getInt(4) + ".");
+            }
+            return new AnagramIndex(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the offset of the string pool, given the number of classes and of words.
+     *
+     * @param classCount -> number of anagram classes
+     * @param wordCount -> number of distinct words
+     * @return The offset of the string pool in the file
+     */
+    public static long poolOffset(int classCount, long wordCount) {
+        return HEADER_SIZE + (long) classCount * (CLASS_ENTRY_SIZE + Integer.BYTES) + wordCount * WORD_ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the number of anagram classes in the index.
+     *
+     * @return The number of classes
+     */
+    public int size() {
+        return classCount;
+    }
+
+    /**
+     * Returns all the words of the index that are anagrams of the given word (the word itself included, if indexed).
+     *
+     * @param word -> the word to look up (case-insensitive)
+     * @return The distinct words of its anagram class, sorted, or an empty list
+     */
+    public List<String> anagramsOf(String word) {
+        int index = find(word);
+        List<String> words = new ArrayList<>();
+        if (index < 0) {
+            return words;
+        }
+        int entry = HEADER_SIZE + index * CLASS_ENTRY_SIZE;
+        int first = buffer.getInt(entry + 16);
+        int count = buffer.getInt(entry + 20);
+        for (int i = first; i < first + count; i++) {
+            int wordEntry = wordsOffset + i * WORD_ENTRY_SIZE;
+            words.add(string(buffer.getInt(wordEntry), buffer.getInt(wordEntry + 4)));
+        }
+        return words;
+    }
+
+    /**
+     * Returns the number of words in the anagram class of the given word.
+     *
+     * @param word -> the word to look up (case-insensitive)
+     * @return The count of its anagram class, or 0 if not indexed
+     */
+    public long count(String word) {
+        int index = find(word);
+        return index < 0 ? 0 : buffer.getLong(HEADER_SIZE + index * CLASS_ENTRY_SIZE + 8);
+    }
+
+    /**
+     * Returns all the distinct words of the index, grouped by anagram class.
+     *
+     * @return A stream of the words, decoded lazily
+     */
+    public Stream<String> words() {
+        int wordCount = (poolOffset - wordsOffset) / WORD_ENTRY_SIZE;
+        return IntStream.range(0, wordCount).mapToObj(i -> {
+            int wordEntry = wordsOffset + i * WORD_ENTRY_SIZE;
+            return string(buffer.getInt(wordEntry), buffer.getInt(wordEntry + 4));
+        });
+    }
+
+    /**
+     * Returns the largest anagram classes.
+     *
+     * @param n -> maximum number of classes to return
+     * @return Pairs of canonical form and count, by descending count
+     */
+    public List<Pair<String, Long>> top(int n) {
+        List<Pair<String, Long>> top = new ArrayList<>();
+        for (int rank = 0; rank < Math.min(n, classCount); rank++) {
+            int entry = HEADER_SIZE + buffer.getInt(rankingOffset + rank * Integer.BYTES) * CLASS_ENTRY_SIZE;
+            top.add(new Pair<>(string(buffer.getInt(entry), buffer.getInt(entry + 4)), buffer.getLong(entry + 8)));
+        }
+        return top;
+    }
+
+    /**
+     * Unmaps the index as far as the JVM allows (the mapping is released once unreachable) and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Binary search of the anagram class of a word.
+     *
+     * @param word -> the word to look up
+     * @return The index of its class, or -1 if not indexed
+     */
+    private int find(String word) {
+        byte[] key = AnagramSignature.of(word.toLowerCase(Locale.ROOT)).toString().getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = classCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = HEADER_SIZE + middle * CLASS_ENTRY_SIZE;
+            int comparison = compare(buffer.getInt(entry), buffer.getInt(entry + 4), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a string of the pool with a key, byte by byte (unsigned), without decoding it.
+     */
+    private int compare(int offset, int length, byte[] key) {
+        int position = poolOffset + offset;
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int comparison = Integer.compare(buffer.get(position + i) & 0xFF, key[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(poolOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[1].equals("anagrams") || args[1].equals("top"))) {
+            System.err.println("Usage: java AnagramIndex <index-file> anagrams <word> | top <n>");
+            System.exit(1);
+        }
+
+        try (AnagramIndex index = open(Path.of(args[0]))) {
+            if (args[1].equals("anagrams")) {
+                index.anagramsOf(args[2]).forEach(System.out::println);
+            } else {
+                index.top(Integer.parseInt(args[2])).forEach(pair -> System.out.println(pair.getKey() + ": " + pair.getValue()));
+            }
+        }
+    }
+}
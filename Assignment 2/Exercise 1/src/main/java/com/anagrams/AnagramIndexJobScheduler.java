@@ -0,0 +1,64 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.IndexFileOutputStrategy;
+
+import com.framework.JobScheduler;
+import com.framework.Caching.ResultCache;
+import com.framework.Strategies.ParallelExecutionStrategy;
+import com.framework.Strategies.PartitionedGroupingStrategy;
+import com.framework.Utils.Codec;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a persistent anagram index of a directory of books.
+ *
+ * Runs the same pipeline as AnagramJobScheduler, but outputs an index file that keeps the distinct words
+ * of each anagram class; the index is then queried through AnagramIndex without running the scheduler again.
+ *
+ * @author Faxy
+ */
+public class AnagramIndexJobScheduler extends JobScheduler<AnagramSignature, String> {
+    private static final long CACHE_MAX_BYTES = 256L * 1024 * 1024;
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean cached = arguments.remove("--cache");
+        if (arguments.size() < 1 || arguments.size() > 2) {
+            System.err.println("Usage: java AnagramIndexJobScheduler [--cache] <directory-path> [index-file]");
+            System.exit(1);
+        }
+
+        AnagramIndexJobScheduler scheduler = new AnagramIndexJobScheduler();
+
+        // Set the Emit and Output strategies
+        String directoryPath = arguments.get(0);
+        String indexPath = arguments.size() == 2 ? arguments.get(1) : "anagrams.idx";
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.MAPPED));
+        scheduler.setOutputStrategy(new IndexFileOutputStrategy(indexPath));
+
+        // With --cache, serve the results of unchanged books from the same cache as AnagramJobScheduler
+        if (cached) {
+            Path cacheDirectory = Path.of(System.getProperty("java.io.tmpdir"), "anagram-cache");
+            scheduler.setResultCache(new ResultCache<>(cacheDirectory, CACHE_MAX_BYTES, AnagramSignature.CODEC, Codec.strings()));
+        }
+
+        // Run the jobs in parallel and group the results in one hash partition per available core
+        int cores = Runtime.getRuntime().availableProcessors();
+        ParallelExecutionStrategy executionStrategy = ParallelExecutionStrategy.forkJoin(cores);
+        scheduler.setExecutionStrategy(executionStrategy);
+        PartitionedGroupingStrategy<AnagramSignature, String> groupingStrategy = new PartitionedGroupingStrategy<>(cores);
+        scheduler.setGroupingStrategy(groupingStrategy);
+
+        // Run the scheduler, shutting down the thread pools even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+            groupingStrategy.close();
+        }
+    }
+}
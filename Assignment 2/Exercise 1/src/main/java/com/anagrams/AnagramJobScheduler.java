@@ -2,10 +2,22 @@ package com.anagrams;
 
 import com.anagrams.Strategies.CSVFileOutputStrategy;
 import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.OutputOrder;
 import com.anagrams.Strategies.TextFileOutputStrategy;
+import com.anagrams.Strategies.TextFileTopOutputStrategy;
 
 import com.framework.JobScheduler;
+import com.framework.Caching.ResultCache;
+import com.framework.Columnar.ColumnarOutputStrategy;
+import com.framework.Strategies.ExternalGroupingStrategy;
+import com.framework.Strategies.ParallelExecutionStrategy;
+import com.framework.Strategies.PartitionedGroupingStrategy;
+import com.framework.Utils.Codec;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -16,19 +28,60 @@ import java.util.Scanner;
  * 
  * @author Faxy
  */
-public class AnagramJobScheduler extends JobScheduler<String, String> {
+public class AnagramJobScheduler extends JobScheduler<AnagramSignature, String> {
+    private static final long CACHE_MAX_BYTES = 256L * 1024 * 1024;
+
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.err.println("Usage: java AnagramJobScheduler <directory-path>");
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean cached = arguments.remove("--cache");
+        boolean sorted = arguments.remove("--sorted"); // Classes sorted by key, to compare runs with diff
+        boolean columnar = arguments.remove("--columnar"); // Binary columnar file, readable with ColumnarReader
+        int top = 0; // With --top <n>, only the n largest classes are output
+        int topIndex = arguments.indexOf("--top");
+        if (topIndex >= 0 && topIndex + 1 < arguments.size()) {
+            top = Integer.parseInt(arguments.remove(topIndex + 1));
+            arguments.remove(topIndex);
+        }
+        if ((topIndex >= 0 && top < 1) || (columnar && top > 0) || arguments.size() < 1 || arguments.size() > 2) {
+            System.err.println("Usage: java AnagramJobScheduler [--cache] [--sorted] [--columnar | --top <n>] <directory-path> [memory-budget-MB]");
             System.exit(1);
         }
 
         AnagramJobScheduler scheduler = new AnagramJobScheduler();
 
         // Set the Emit and Output strategies
-        String directoryPath = args[0];
-        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath));
-        scheduler.setOutputStrategy(new TextFileOutputStrategy("count_anagrams.txt"));
+        String directoryPath = arguments.get(0);
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.MAPPED)); // Books are scanned in place
+        if (columnar) {
+            scheduler.setOutputStrategy(new ColumnarOutputStrategy<>("count_anagrams.col", AnagramSignature.CODEC, Codec.strings(), true));
+        } else if (top > 0) {
+            scheduler.setOutputStrategy(new TextFileTopOutputStrategy("top_anagrams.txt", top)); // Largest classes only
+        } else {
+            scheduler.setOutputStrategy(new TextFileOutputStrategy("count_anagrams.txt", sorted ? OutputOrder.BY_KEY : OutputOrder.UNORDERED));
+        }
+
+        // With --cache, serve the results of unchanged books from a size-bounded cache in the temporary directory
+        if (cached) {
+            Path cacheDirectory = Path.of(System.getProperty("java.io.tmpdir"), "anagram-cache");
+            scheduler.setResultCache(new ResultCache<>(cacheDirectory, CACHE_MAX_BYTES, AnagramSignature.CODEC, Codec.strings()));
+        }
+
+        // With a memory budget, group externally, spilling sorted runs to disk when the budget is exceeded
+        int cores = Runtime.getRuntime().availableProcessors();
+        PartitionedGroupingStrategy<AnagramSignature, String> partitionedStrategy = null;
+        if (arguments.size() == 2) {
+            long memoryBudget = Long.parseLong(arguments.get(1)) * 1024 * 1024;
+            scheduler.setGroupingStrategy(new ExternalGroupingStrategy<>(
+                AnagramSignature.CODEC, Codec.strings(), Comparator.naturalOrder(), memoryBudget));
+        } else {
+            // Otherwise, group the results in one hash partition per available core
+            partitionedStrategy = new PartitionedGroupingStrategy<>(cores);
+            scheduler.setGroupingStrategy(partitionedStrategy);
+        }
+
+        // Run the jobs (one per file) in parallel, one per available core
+        ParallelExecutionStrategy executionStrategy = ParallelExecutionStrategy.forkJoin(cores);
+        scheduler.setExecutionStrategy(executionStrategy);
         
         /* Uncomment this to get a simple CLI to select output format
         Scanner scanner = new Scanner(System.in);
@@ -56,7 +109,14 @@ public class AnagramJobScheduler extends JobScheduler<String, String> {
             }
         }*/
 
-        // Run the scheduler
-        scheduler.main();
+        // Run the scheduler, shutting down the thread pools even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+            if (partitionedStrategy != null) {
+                partitionedStrategy.close();
+            }
+        }
     }
 }
@@ -0,0 +1,277 @@
+package com.anagrams;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Embedded HTTP server answering anagram queries on the results of a batch run.
+ *
+ * The results are read from an anagram index (written by AnagramIndexJobScheduler) into an immutable Snapshot:
+ * the memory-mapped index answers anagram and top-N queries, and a sorted array of all the words answers
+ * prefix queries. Requests are served on virtual threads and never lock: each one reads the current snapshot,
+ * while a reload builds a new snapshot aside and swaps it in atomically.
+ *
+ * The index file is watched, so that the snapshot is reloaded as soon as a new run replaces it;
+ * a reload can also be requested explicitly.
+ *
+ * Endpoints (plain text, one result per line):
+ * - GET /anagrams?word=W -> the words that are anagrams of W
+ * - GET /prefix?q=P[&limit=N] -> the words starting with P, alphabetically
+ * - GET /top?n=N -> the N largest anagram classes, as "canonical: count"
+ * - POST /reload -> reloads the index
+ *
+ * @author Faxy
+ */
+public class AnagramQueryServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final Path indexPath;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Thread watcher;
+
+    /**
+     * Immutable view of one batch run: the mapped index and its words, sorted for prefix search.
+     */
+    private record Snapshot(AnagramIndex index, String[] words) {
+
+        static Snapshot load(Path indexPath) throws IOException {
+            AnagramIndex index = AnagramIndex.open(indexPath);
+            String[] words = index.words().sorted().toArray(String[]::new);
+            return new Snapshot(index, words);
+        }
+
+        List<String> withPrefix(String prefix, int limit) {
+            int from = Arrays.binarySearch(words, prefix);
+            List<String> result = new ArrayList<>();
+            for (int i = from < 0 ? -from - 1 : from; i < words.length && result.size() < limit && words[i].startsWith(prefix); i++) {
+                result.add(words[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Constructor that loads the index and binds the server to the loopback interface (see start()).
+     *
+     * @param indexPath - Path to the anagram index to serve
+     * @param port - Port to listen on (0 for an ephemeral port)
+     * @throws IOException if the index cannot be loaded or the port cannot be bound
+     */
+    public AnagramQueryServer(Path indexPath, int port) throws IOException {
+        this.indexPath = indexPath.toAbsolutePath();
+        this.snapshot.set(Snapshot.load(this.indexPath));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Registers the endpoints, then starts serving requests and watching the index file for new runs.
+     *
+     * The handlers are registered here rather than in the constructor, so that they never see a partially built server.
+     */
+    public void start() {
+        server.createContext("/anagrams", exchange -> handle(exchange, "GET", parameters ->
+            current().index().anagramsOf(required(parameters, "word"))));
+        server.createContext("/prefix", exchange -> handle(exchange, "GET", parameters ->
+            current().withPrefix(required(parameters, "q").toLowerCase(Locale.ROOT), integer(parameters, "limit", DEFAULT_LIMIT))));
+        server.createContext("/top", exchange -> handle(exchange, "GET", parameters ->
+            current().index().top(integer(parameters, "n", 10)).stream()
+                .map(pair -> pair.getKey() + ": " + pair.getValue()).toList()));
+        server.createContext("/reload", exchange -> handle(exchange, "POST", parameters -> {
+            try {
+                reload();
+            } catch (IOException e) {
+                throw new IllegalStateException("Reload failed: " + e.getMessage(), e);
+            }
+            return List.of("reloaded " + current().index().size() + " classes");
+        }));
+        server.start();
+        watcher = Thread.ofVirtual().name("index-watcher").start(this::watch);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Loads the index file again and swaps the new snapshot in.
+     *
+     * Queries keep running on the previous snapshot until the swap; its mapping stays valid for them,
+     * since a new run replaces the index file instead of rewriting it.
+     *
+     * @throws IOException if the index cannot be loaded (the previous snapshot is kept)
+     */
+    public void reload() throws IOException {
+        Snapshot previous = snapshot.getAndSet(Snapshot.load(indexPath));
+        previous.index().close();
+    }
+
+    /**
+     * Stops the server and the watcher, and closes the index.
+     */
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+        executor.shutdown();
+        current().index().close();
+    }
+
+    private Snapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Reloads the snapshot whenever the index file is replaced, until the watcher is interrupted.
+     */
+    private void watch() {
+        Path directory = indexPath.getParent();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean replaced = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || indexPath.getFileName().equals(event.context())) {
+                        replaced = true;
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+                if (replaced) {
+                    try {
+                        reload();
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Answers a request with the lines computed by the query, or with an error status.
+     *
+     * @param exchange -> the HTTP exchange
+     * @param method -> the accepted HTTP method
+     * @param query -> computes the response lines from the query parameters
+     */
+    private static void handle(HttpExchange exchange, String method, Function<Map<String, String>, List<String>> query) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            if (!exchange.getRequestMethod().equals(method)) {
+                status = 405;
+                body = "Method not allowed\n";
+            } else {
+                StringBuilder lines = new StringBuilder();
+                for (String line : query.apply(parameters(exchange.getRequestURI().getRawQuery()))) {
+                    lines.append(line).append('\n');
+                }
+                body = lines.toString();
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = e.getMessage() + "\n";
+        } catch (RuntimeException e) {
+            status = 500;
+            body = e.getMessage() + "\n";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int integer(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Negative parameter: " + name);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid parameter: " + name);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java AnagramQueryServer <index-file> [port]");
+            System.exit(1);
+        }
+
+        int port = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        AnagramQueryServer server = new AnagramQueryServer(Path.of(args[0]), port);
+        server.start();
+        System.out.println("Serving " + args[0] + " on http://localhost:" + server.getPort());
+    }
+}
@@ -0,0 +1,232 @@
+package com.anagrams;
+
+import com.framework.Sketches.HyperLogLog;
+import com.framework.Utils.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact key identifying an anagram class: the letter histogram of its words.
+ * 
+ * For words made of a-z letters, each occurring at most 15 times, the 26 letter counts are packed
+ * in 4-bit fields of two longs (letters a-p in low, q-z in high), so hashing and comparing a signature
+ * costs a couple of long operations and building one needs no sorting and no allocation besides the key itself.
+ * Any other word falls back to its sorted string, which keeps signatures collision-free.
+ * 
+ * The canonical form (sorted letters) is decoded by toString(), only when the key has to be printed.
+ * 
+ * @author Faxy
+ */
+public final class AnagramSignature implements Comparable<AnagramSignature> {
+    private static final int BITS = 4; // Bits per letter count
+    private static final int MAX_COUNT = (1 << BITS) - 1;
+    private static final int LOW_LETTERS = Long.SIZE / BITS; // Letters packed in low (a-p)
+
+    /**
+     * Codec writing the two packed longs, followed by the fallback string if any.
+     */
+    public static final Codec<AnagramSignature> CODEC = new Codec<>() {
+        private final Codec<String> strings = Codec.strings();
+
+        @Override
+        public void write(DataOutput out, AnagramSignature value) throws IOException {
+            out.writeLong(value.low);
+            out.writeLong(value.high);
+            out.writeBoolean(value.fallback != null);
+            if (value.fallback != null) {
+                strings.write(out, value.fallback);
+            }
+        }
+
+        @Override
+        public AnagramSignature read(DataInput in) throws IOException {
+            long low = in.readLong();
+            long high = in.readLong();
+            String fallback = in.readBoolean() ? strings.read(in) : null;
+            return new AnagramSignature(low, high, fallback);
+        }
+
+        @Override
+        public long weigh(AnagramSignature value) {
+            return value.fallback == null ? 32 : 72 + value.fallback.length();
+        }
+    };
+
+    private final long low;
+    private final long high;
+    private final String fallback; // Sorted word, for words that cannot be packed (null otherwise)
+
+    private AnagramSignature(long low, long high, String fallback) {
+        this.low = low;
+        this.high = high;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Builds the signature of a word given as lowercase ASCII bytes.
+     * 
+     * @param word -> buffer holding the word
+     * @param length -> length of the word
+     * @return The signature of the word
+     */
+    public static AnagramSignature of(byte[] word, int length) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = word[i] - 'a';
+            if (letter < 0 || letter >= 26) {
+                return fallback(new String(word, 0, length, StandardCharsets.ISO_8859_1));
+            }
+            if (letter < LOW_LETTERS) {
+                int shift = letter * BITS;
+                if (((low >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                    return fallback(new String(word, 0, length, StandardCharsets.ISO_8859_1));
+                }
+                low += 1L << shift;
+            } else {
+                int shift = (letter - LOW_LETTERS) * BITS;
+                if (((high >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                    return fallback(new String(word, 0, length, StandardCharsets.ISO_8859_1));
+                }
+                high += 1L << shift;
+            }
+        }
+        return new AnagramSignature(low, high, null);
+    }
+
+    /**
+     * Builds the signature of a word.
+     * 
+     * @param word -> the word (lowercase)
+     * @return The signature of the word
+     */
+    public static AnagramSignature of(String word) {
+        byte[] bytes = new byte[word.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return fallback(word);
+            }
+            bytes[i] = (byte) c;
+        }
+        return of(bytes, bytes.length);
+    }
+
+    /**
+     * Hashes the signature of a word given as lowercase ASCII bytes to 64 bits, without building the signature.
+     * 
+     * Words of the same anagram class have the same hash. Packed signatures with different letters a-p
+     * and the same letters q-z never collide; any other two classes collide with probability 2^-64.
+     * Only words that cannot be packed allocate (a sorted copy of the word).
+     * 
+     * @param word -> buffer holding the word
+     * @param length -> length of the word
+     * @return The 64-bit hash of the signature of the word
+     */
+    public static long hash64(byte[] word, int length) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = word[i] - 'a';
+            if (letter < 0 || letter >= 26) {
+                return fallbackHash64(word, length);
+            }
+            if (letter < LOW_LETTERS) {
+                int shift = letter * BITS;
+                if (((low >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                    return fallbackHash64(word, length);
+                }
+                low += 1L << shift;
+            } else {
+                int shift = (letter - LOW_LETTERS) * BITS;
+                if (((high >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                    return fallbackHash64(word, length);
+                }
+                high += 1L << shift;
+            }
+        }
+        // Both mixing steps are bijective, so only the high half can make two classes collide
+        return HyperLogLog.hash(low ^ HyperLogLog.hash(high + 0x9E3779B97F4A7C15L));
+    }
+
+    private static long fallbackHash64(byte[] word, int length) {
+        byte[] letters = Arrays.copyOf(word, length);
+        Arrays.sort(letters);
+        long h = 0xCBF29CE484222325L; // 64-bit FNV-1a
+        for (byte letter : letters) {
+            h = (h ^ (letter & 0xFF)) * 0x100000001B3L;
+        }
+        return HyperLogLog.hash(h);
+    }
+
+    private static AnagramSignature fallback(String word) {
+        char[] letters = word.toCharArray();
+        Arrays.sort(letters);
+        return new AnagramSignature(0, 0, new String(letters));
+    }
+
+    /**
+     * Decodes the canonical form of the anagram class.
+     * 
+     * @return The sorted letters of the words of the class
+     */
+    @Override
+    public String toString() {
+        if (fallback != null) {
+            return fallback;
+        }
+        StringBuilder canonical = new StringBuilder();
+        for (int letter = 0; letter < 26; letter++) {
+            long count = letter < LOW_LETTERS
+                ? (low >>> (letter * BITS)) & MAX_COUNT
+                : (high >>> ((letter - LOW_LETTERS) * BITS)) & MAX_COUNT;
+            for (int i = 0; i < count; i++) {
+                canonical.append((char) ('a' + letter));
+            }
+        }
+        return canonical.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof AnagramSignature signature)) {
+            return false;
+        }
+        return low == signature.low && high == signature.high
+            && (fallback == null ? signature.fallback == null : fallback.equals(signature.fallback));
+    }
+
+    @Override
+    public int hashCode() {
+        if (fallback != null) {
+            return fallback.hashCode();
+        }
+        long h = low * 0x9E3779B97F4A7C15L ^ high * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Total order on signatures (packed signatures first); it is not the alphabetical order of the canonical forms.
+     * 
+     * @param other -> the signature to compare to
+     * @return A negative, zero or positive integer
+     */
+    @Override
+    public int compareTo(AnagramSignature other) {
+        if (fallback != null || other.fallback != null) {
+            if (fallback == null) {
+                return -1;
+            }
+            if (other.fallback == null) {
+                return 1;
+            }
+            return fallback.compareTo(other.fallback);
+        }
+        int byHigh = Long.compareUnsigned(high, other.high);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, other.low);
+    }
+}
@@ -0,0 +1,31 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.DirectoryEmitStrategy;
+import com.anagrams.Strategies.TextFileOutputStrategy;
+
+import com.framework.StagedJobScheduler;
+
+/**
+ * Runs the anagram count with the staged variant of the framework,
+ * overlapping file reads, tokenization, grouping and output writes.
+ * 
+ * @author Faxy
+ */
+public class AnagramStagedJobScheduler extends StagedJobScheduler<AnagramSignature, String> {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: java AnagramStagedJobScheduler <directory-path>");
+            System.exit(1);
+        }
+
+        AnagramStagedJobScheduler scheduler = new AnagramStagedJobScheduler();
+
+        // Set the Emit and Output strategies
+        String directoryPath = args[0];
+        scheduler.setEmitStrategy(new DirectoryEmitStrategy(directoryPath, FileJob.InputMode.STREAM, FileRangeJob.DEFAULT_SPLIT_SIZE));
+        scheduler.setOutputStrategy(new TextFileOutputStrategy("count_anagrams.txt"));
+
+        // Run the scheduler
+        scheduler.main();
+    }
+}
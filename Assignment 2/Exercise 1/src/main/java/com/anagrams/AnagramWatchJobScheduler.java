@@ -0,0 +1,45 @@
+package com.anagrams;
+
+import com.anagrams.Strategies.TextFileCountOutputStrategy;
+import com.anagrams.Strategies.WatchDirectoryEmitStrategy;
+
+import com.framework.IncrementalJobScheduler;
+import com.framework.Strategies.ParallelExecutionStrategy;
+
+/**
+ * Long-running anagram counter that keeps count_anagrams.txt up to date with the content of a directory.
+ * 
+ * Only new or modified books are processed; the counts of the other books are retained between updates.
+ * Stop it with Ctrl+C.
+ * 
+ * @author Faxy
+ */
+public class AnagramWatchJobScheduler extends IncrementalJobScheduler<AnagramSignature, String> {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: java AnagramWatchJobScheduler <directory-path>");
+            System.exit(1);
+        }
+
+        AnagramWatchJobScheduler scheduler = new AnagramWatchJobScheduler();
+
+        // Set the Emit and Output strategies
+        // (the output is excluded from the watched files, in case the directory is the working directory)
+        String directoryPath = args[0];
+        String outputPath = "count_anagrams.txt";
+        scheduler.setEmitStrategy(new WatchDirectoryEmitStrategy(directoryPath, outputPath));
+        scheduler.setOutputStrategy(new TextFileCountOutputStrategy(outputPath));
+
+        // Run the jobs of each batch in parallel, one per available core
+        ParallelExecutionStrategy executionStrategy =
+            ParallelExecutionStrategy.forkJoin(Runtime.getRuntime().availableProcessors());
+        scheduler.setExecutionStrategy(executionStrategy);
+
+        // Run the scheduler (until interrupted), shutting down the thread pool even if it fails
+        try {
+            scheduler.main();
+        } finally {
+            executionStrategy.close();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.anagrams;
+
+import com.framework.Distributed.WireFormat;
+import com.framework.Utils.Codec;
+
+/**
+ * Wire format of the anagram pairs: signatures as keys and words as values.
+ * 
+ * @author Faxy
+ */
+public class AnagramWireFormat implements WireFormat<AnagramSignature, String> {
+
+    @Override
+    public Codec<AnagramSignature> keyCodec() {
+        return AnagramSignature.CODEC;
+    }
+
+    @Override
+    public Codec<String> valueCodec() {
+        return Codec.strings();
+    }
+}
@@ -0,0 +1,53 @@
+package com.anagrams;
+
+/**
+ * Byte-scanning primitives of the WordTokenizer, working on a window of ASCII/UTF-8 bytes.
+ * 
+ * Word characters are [A-Za-z0-9_]; every other byte is a separator. Two implementations exist:
+ * a scalar one, and a vectorized one (jdk.incubator.vector) that classifies a whole vector of bytes
+ * (32 or 64, depending on the CPU) per iteration. The vectorized kernel is used when the incubator module
+ * is available (java --add-modules jdk.incubator.vector) unless -Danagrams.scalar=true is given.
+ * 
+ * @author Faxy
+ */
+interface ByteKernel {
+
+    /**
+     * Finds the first word character.
+     * 
+     * @param bytes -> the window
+     * @param from -> start index (inclusive)
+     * @param to -> end index (exclusive)
+     * @return The index of the first word character, or to if there is none
+     */
+    int skipSeparators(byte[] bytes, int from, int to);
+
+    /**
+     * Copies the letters at the start of the range, lowercased, until the first non-letter byte.
+     * 
+     * @param bytes -> the window
+     * @param from -> start index (inclusive)
+     * @param to -> end index (exclusive); dst must have room for to - from bytes from offset
+     * @param dst -> destination of the lowercase letters
+     * @param offset -> index of dst where the first letter is copied
+     * @return The index of the first non-letter byte, or to if there is none
+     */
+    int copyLetters(byte[] bytes, int from, int to, byte[] dst, int offset);
+
+    /**
+     * Returns the fastest kernel available on this JVM.
+     * 
+     * @return The vectorized kernel if possible, the scalar kernel otherwise
+     */
+    static ByteKernel load() {
+        if (!Boolean.getBoolean("anagrams.scalar") && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name, so that no class of the incubator module is touched when it is missing
+                return (ByteKernel) Class.forName("com.anagrams.VectorByteKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Falling back to the scalar kernel
+            }
+        }
+        return new ScalarByteKernel();
+    }
+}
@@ -2,76 +2,191 @@ package com.anagrams;
 
 import com.framework.Utils.Pair;
 import com.framework.AJob;
+import com.framework.Caching.CacheableJob;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
-import java.util.regex.Pattern;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Concrete implementation of AJob that processes a text file to find and return anagrams.
  * 
  * This job reads a file, filters words based on specific criteria, 
  * ("You should ignore all words of less than four characters, and those containing non-alphabetic characters")
- * and returns a stream of key-value pairs where the key is the ciao form of the word (anagram) and the value is the word itself.
+ * and returns a stream of key-value pairs where the key is the letter signature of the word (anagram class) and the value is the word itself.
+ * 
+ * The job is cacheable: its results only depend on the content of the file and on VERSION.
+ * 
+ * The file is either streamed through a heap buffer (STREAM) or memory-mapped and scanned in place (MAPPED);
+ * both modes emit the same pairs. Files ending in .gz are decompressed while they are tokenized.
+ * The job is Serializable (it only holds the path of the file), so that it can be sent to a worker process.
  * 
  * @author Faxy
  */
-public class FileJob extends AJob<String, String> {
+public class FileJob extends AJob<AnagramSignature, String> implements CacheableJob, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String VERSION = "FileJob-2"; // To be changed whenever the emitted pairs change
+    static final String GZIP_SUFFIX = ".gz";
+    private static final int GZIP_MIN_SIZE = 18; // Header (10 bytes) and trailer (CRC32 and ISIZE, 8 bytes)
+    static final int DECOMPRESSION_BUFFER_SIZE = 1 << 16; // Compressed bytes read at once
+
+    /**
+     * How the content of the file is read.
+     */
+    public enum InputMode {
+        STREAM, // Buffered InputStream, copying chunks of the file into the heap
+        MAPPED  // Memory-mapped FileChannel, letting the OS page the file in without copies
+    }
+
     private final String fileName;
+    private final InputMode inputMode;
 
     /**
-     * Constructor to initialize the job with the file name.
+     * Constructor to initialize the job with the file name, streaming its content.
      * 
      * @param fileName - The path of the file to process
      */
     public FileJob(String fileName) {
+        this(fileName, InputMode.STREAM);
+    }
+
+    /**
+     * Constructor to initialize the job with the file name and the way it is read.
+     * 
+     * @param fileName - The path of the file to process
+     * @param inputMode - How the file is read
+     */
+    public FileJob(String fileName, InputMode inputMode) {
         this.fileName = fileName;
+        this.inputMode = inputMode;
     }
 
     /**
      * Executes the job and processes the file to find anagrams.
      * 
      * Reads the file, filters words, and returns a stream of key-value pairs where
-     * the key is the sorted word (anagram) and the value is the word itself.
+     * the key is the signature of the word (its anagram class) and the value is the word itself.
+     * Words are extracted by a WordTokenizer, scanning the bytes of the file without
+     * intermediate objects (same words as splitting on \W+, with ASCII case folding).
      * 
      * @return A stream of key-value pairs representing anagrams
+     * @throws UncheckedIOException if the file cannot be opened (or, while the stream is consumed, read)
      */
     @Override
-    public Stream<Pair<String, String>> execute() {
+    public Stream<Pair<AnagramSignature, String>> execute() {
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(fileName));
-            Stream<Pair<String, String>> result = reader.lines()
-                .flatMap(line -> Pattern.compile("\\W+").splitAsStream(line)) // Split line into words
-                .map(word -> word.toLowerCase()) // Convert words to lowercase
-                .filter(word -> word.length() >= 4 && word.chars().allMatch(Character::isAlphabetic)) // Filter short and non-alphabetic words
-                .map(word -> new Pair<>(canonicalForm(word), word)); // Create key-value pair with sorted word
-            
-            // Wrap the stream with onClose to close the reader when the stream is closed
-            return result.onClose(() -> {
+            if (fileName.endsWith(GZIP_SUFFIX)) {
+                // Compressed books are inflated on the fly (mapping the compressed bytes would not help)
+                InputStream stream = new GZIPInputStream(Files.newInputStream(Path.of(fileName)), DECOMPRESSION_BUFFER_SIZE);
+                return tokenize(new WordTokenizer(stream), stream);
+            }
+            if (inputMode == InputMode.MAPPED) {
+                FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+                return tokenize(new WordTokenizer(channel), channel);
+            }
+            InputStream stream = Files.newInputStream(Path.of(fileName));
+            return tokenize(new WordTokenizer(stream), stream);
+        } catch (IOException e) {
+            // Failing rather than emitting nothing, so that an unreadable file is not mistaken for an empty one
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Turns the words of a tokenizer into a lazy stream of pairs (signature, word).
+     * 
+     * @param tokenizer -> splits, lowercases and filters words in one pass
+     * @param input -> the input read by the tokenizer, closed when the stream is closed
+     * @return A stream of key-value pairs representing anagrams
+     */
+    static Stream<Pair<AnagramSignature, String>> tokenize(WordTokenizer tokenizer, AutoCloseable input) {
+        Spliterator<Pair<AnagramSignature, String>> words = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Pair<AnagramSignature, String>> action) {
                 try {
-                    reader.close();
+                    if (!tokenizer.next()) {
+                        return false;
+                    }
                 } catch (IOException e) {
-                    e.printStackTrace();
+                    throw new UncheckedIOException(e);
                 }
-            });
-        } catch (IOException e) {
-            e.printStackTrace();
-            return Stream.empty();
-        }
+                // Create key-value pair with the letter signature of the word
+                action.accept(new Pair<>(AnagramSignature.of(tokenizer.word(), tokenizer.length()), tokenizer.wordString()));
+                return true;
+            }
+        };
+
+        // Wrap the stream with onClose to close the input when the stream is closed
+        return StreamSupport.stream(words, false).onClose(() -> {
+            try {
+                input.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
     }
 
     /**
-     * Sorts the characters of a string.
+     * Describes the job by the processed file.
      * 
-     * @param word -> the string to be sorted
-     * @return The sorted string
+     * @return The path of the file
      */
-    private String canonicalForm(String word) {
-        return word.chars()
-            .sorted()
-            .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-            .toString();
+    @Override
+    public String getDescription() {
+        return fileName;
+    }
+
+    /**
+     * Returns the size of the processed input: the file size, or the uncompressed size of a .gz file.
+     * 
+     * The uncompressed size is read from the ISIZE field of the gzip trailer (its last 4 bytes, little-endian),
+     * which holds the size modulo 2^32 of the last member only: it is exact for single-member files below 4 GiB.
+     * 
+     * @return The input size in bytes, or -1 if the size of a .gz file cannot be read
+     */
+    @Override
+    public long getInputSize() {
+        if (!fileName.endsWith(GZIP_SUFFIX)) {
+            return new File(fileName).length();
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < GZIP_MIN_SIZE) {
+                return -1;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer, size - Integer.BYTES + trailer.position()) < 0) {
+                    return -1;
+                }
+            }
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public Path getInputPath() {
+        return Path.of(fileName);
+    }
+
+    @Override
+    public String getVersion() {
+        return VERSION;
     }
 }
\ No newline at end of file
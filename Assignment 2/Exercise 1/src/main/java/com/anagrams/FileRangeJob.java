@@ -0,0 +1,178 @@
+package com.anagrams;
+
+import com.framework.Utils.Pair;
+import com.framework.AJob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Concrete implementation of AJob that finds anagrams in a byte range of a text file.
+ *
+ * Large files are cut into ranges (see split) so that they are processed by several jobs in parallel,
+ * and parallelism follows the size of the input rather than the number of files.
+ * Ranges are cut right after a separator byte, so no word crosses a range boundary, and the ranges of
+ * a file together emit exactly the pairs of a FileJob on the whole file, in the same order.
+ *
+ * Unlike FileJob, the job is not cacheable: the cache identifies results by the content of the whole file.
+ * Like FileJob, it is Serializable, so that it can be sent to a worker process.
+ *
+ * @author Faxy
+ */
+public class FileRangeJob extends AJob<AnagramSignature, String> implements Serializable {
+    public static final long DEFAULT_SPLIT_SIZE = 32L << 20; // Large enough for the cost of a job to be negligible
+    private static final long serialVersionUID = 1L;
+    private static final int ALIGNMENT_BUFFER_SIZE = 4096; // Bytes read at once while looking for a separator
+
+    private final String fileName;
+    private final long start;
+    private final long end;
+    private final FileJob.InputMode inputMode;
+
+    /**
+     * Constructor to initialize the job with the file, the range and the way it is read.
+     *
+     * @param fileName - The path of the file to process
+     * @param start - Position of the first byte of the range (0, or right after a separator)
+     * @param end - Position after the last byte of the range (the file size, or right after a separator)
+     * @param inputMode - How the range is read
+     */
+    public FileRangeJob(String fileName, long start, long end, FileJob.InputMode inputMode) {
+        this.fileName = fileName;
+        this.start = start;
+        this.end = end;
+        this.inputMode = inputMode;
+    }
+
+    /**
+     * Cuts a file into ranges of about the given size, each ending right after a separator byte.
+     *
+     * @param fileName -> the path of the (uncompressed) file
+     * @param splitSize -> target size of a range in bytes
+     * @param inputMode -> how the ranges are read
+     * @return The jobs of the ranges, in file order (a single one if the file is not larger than splitSize)
+     * @throws IOException if the file cannot be read
+     */
+    public static List<FileRangeJob> split(String fileName, long splitSize, FileJob.InputMode inputMode) throws IOException {
+        if (splitSize < 1) {
+            throw new IllegalArgumentException("The split size must be positive.");
+        }
+        List<FileRangeJob> jobs = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(ALIGNMENT_BUFFER_SIZE);
+            long start = 0;
+            while (start < size) {
+                long end = size - start > splitSize ? align(channel, start + splitSize, size, buffer) : size;
+                jobs.add(new FileRangeJob(fileName, start, end, inputMode));
+                start = end;
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Moves a cut forward until it follows a separator byte.
+     *
+     * @param channel -> the file
+     * @param cut -> the wanted position of the cut
+     * @param size -> the size of the file
+     * @param buffer -> buffer for the positional reads
+     * @return The first position from cut on that follows a separator (size if there is none)
+     * @throws IOException if the file cannot be read
+     */
+    private static long align(FileChannel channel, long cut, long size, ByteBuffer buffer) throws IOException {
+        long position = cut - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (ScalarByteKernel.CLASSES[buffer.get(i) & 0xFF] == ScalarByteKernel.SEPARATOR) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * @return The path of the processed file
+     */
+    String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return Position of the first byte of the range
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * @return Position after the last byte of the range
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Executes the job and processes the range to find anagrams.
+     *
+     * @return A stream of key-value pairs representing anagrams
+     * @throws UncheckedIOException if the range cannot be opened (or, while the stream is consumed, read)
+     */
+    @Override
+    public Stream<Pair<AnagramSignature, String>> execute() {
+        try {
+            if (inputMode == FileJob.InputMode.MAPPED) {
+                FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+                return FileJob.tokenize(new WordTokenizer(channel, start, end), channel);
+            }
+            InputStream stream = Files.newInputStream(Path.of(fileName));
+            try {
+                stream.skipNBytes(start);
+            } catch (IOException e) {
+                stream.close();
+                throw e;
+            }
+            return FileJob.tokenize(new WordTokenizer(stream, end - start), stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Describes the job by the processed file and range.
+     *
+     * @return The path of the file, followed by the range
+     */
+    @Override
+    public String getDescription() {
+        return fileName + "[" + start + ", " + end + ")";
+    }
+
+    /**
+     * Returns the size of the processed range.
+     *
+     * @return The range size in bytes
+     */
+    @Override
+    public long getInputSize() {
+        return end - start;
+    }
+}
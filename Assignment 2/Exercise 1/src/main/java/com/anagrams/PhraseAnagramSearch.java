@@ -0,0 +1,354 @@
+package com.anagrams;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Search engine for multi-word anagrams and sub-anagrams over a vocabulary (typically the words of an AnagramIndex).
+ *
+ * The vocabulary is grouped into letter classes (the words sharing a letter histogram), each described by
+ * its letter counts packed in 4-bit fields and by the bitmask of the letters it uses.
+ * - A class is spellable from some letters if its mask is a subset of theirs and each of its counts fits.
+ * - A multi-word anagram of a phrase is a multiset of classes whose counts add up exactly to those of the phrase.
+ *   Multisets are enumerated in class order (so each is found once), recursively on the remaining letters:
+ *   the masks reject most classes with a single operation, and the solutions for a given remainder are memoized,
+ *   since different prefixes (e.g. "stop" + "tea" and "pots" + "eat") often leave the same letters.
+ *   The search is split on fork/join over the choice of the first word.
+ *
+ * Only words made of the letters a-z are considered, and phrases may contain at most 15 of each letter.
+ *
+ * @author Faxy
+ */
+public class PhraseAnagramSearch {
+    private static final int LETTERS = 26;
+    private static final int LOW_LETTERS = 16; // Letters packed in the low long (a-p)
+    private static final int MAX_COUNT = 15;
+
+    private final LetterClass[] classes; // Sorted by decreasing length, so that long words are tried first
+
+    /**
+     * A group of words with the same letters.
+     */
+    private record LetterClass(long low, long high, int mask, int length, List<String> words) {
+    }
+
+    /**
+     * State of the search: remaining letters, first class that may still be used, and words left.
+     */
+    private record Key(long low, long high, int from, int wordsLeft) {
+    }
+
+    /**
+     * A multi-word anagram: one class of interchangeable words for each word of the phrase.
+     *
+     * @param classes -> the words of each class, in search order
+     */
+    public record PhraseAnagram(List<List<String>> classes) {
+
+        /**
+         * Formats the anagram as words separated by spaces, interchangeable words separated by slashes.
+         *
+         * @return e.g. "post/spot/stop eat/tea"
+         */
+        @Override
+        public String toString() {
+            return classes.stream().map(words -> String.join("/", words)).collect(Collectors.joining(" "));
+        }
+    }
+
+    /**
+     * Constructor to initialize the vocabulary.
+     *
+     * @param vocabulary - The words that may be used (case-insensitive, duplicates are ignored)
+     */
+    public PhraseAnagramSearch(Collection<String> vocabulary) {
+        Map<String, List<String>> grouped = new LinkedHashMap<>();
+        vocabulary.stream().map(word -> word.toLowerCase(Locale.ROOT)).distinct().sorted()
+            .filter(word -> !word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z'))
+            .forEach(word -> grouped.computeIfAbsent(AnagramSignature.of(word).toString(), key -> new ArrayList<>()).add(word));
+
+        List<LetterClass> built = new ArrayList<>();
+        for (Map.Entry<String, List<String>> group : grouped.entrySet()) {
+            int[] counts = counts(group.getKey());
+            if (counts != null) {
+                built.add(new LetterClass(pack(counts, 0), pack(counts, LOW_LETTERS), mask(counts), group.getKey().length(), group.getValue()));
+            }
+        }
+        built.sort(Comparator.comparingInt(LetterClass::length).reversed());
+        this.classes = built.toArray(LetterClass[]::new);
+    }
+
+    /**
+     * Creates a search engine over all the words of an anagram index.
+     *
+     * @param index -> the anagram index
+     * @return A search engine over its vocabulary
+     */
+    public static PhraseAnagramSearch of(AnagramIndex index) {
+        return new PhraseAnagramSearch(index.words().toList());
+    }
+
+    /**
+     * Finds the words that can be spelled with (a subset of) the given letters.
+     *
+     * @param letters -> the available letters (non-letters are ignored)
+     * @return The spellable words, longest first
+     */
+    public List<String> spellable(String letters) {
+        int[] counts = phraseCounts(letters);
+        long low = pack(counts, 0);
+        long high = pack(counts, LOW_LETTERS);
+        int mask = mask(counts);
+
+        List<String> words = new ArrayList<>();
+        for (LetterClass letterClass : classes) {
+            if (fits(letterClass, low, high, mask)) {
+                words.addAll(letterClass.words());
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Finds the multi-word anagrams of a phrase.
+     *
+     * @param phrase -> the phrase (non-letters are ignored)
+     * @param maxWords -> maximum number of words of an anagram
+     * @return The anagrams, each listed once whatever the order of its words
+     */
+    public List<PhraseAnagram> anagrams(String phrase, int maxWords) {
+        int[] counts = phraseCounts(phrase);
+        int length = 0;
+        for (int count : counts) {
+            length += count;
+        }
+        if (length == 0 || maxWords < 1) {
+            return List.of();
+        }
+
+        Search search = new Search(maxWords);
+        List<int[]> solutions = ForkJoinPool.commonPool().invoke(
+            search.new FirstWordTask(pack(counts, 0), pack(counts, LOW_LETTERS), mask(counts), length, 0, classes.length));
+
+        List<PhraseAnagram> anagrams = new ArrayList<>();
+        for (int[] solution : solutions) {
+            List<List<String>> words = new ArrayList<>();
+            for (int index : solution) {
+                words.add(classes[index].words());
+            }
+            anagrams.add(new PhraseAnagram(words));
+        }
+        return anagrams;
+    }
+
+    /**
+     * One search for the anagrams of a phrase, with its memo (shared by the fork/join tasks).
+     */
+    private final class Search {
+        private final int maxWords;
+        private final Map<Key, List<int[]>> memo = new ConcurrentHashMap<>();
+
+        Search(int maxWords) {
+            this.maxWords = maxWords;
+        }
+
+        /**
+         * Solves the choices of the first word in [from, to), splitting the range until single choices.
+         */
+        final class FirstWordTask extends RecursiveTask<List<int[]>> {
+            private static final long serialVersionUID = 1L;
+
+            private final long low;
+            private final long high;
+            private final int mask;
+            private final int length;
+            private final int from;
+            private final int to;
+
+            FirstWordTask(long low, long high, int mask, int length, int from, int to) {
+                this.low = low;
+                this.high = high;
+                this.mask = mask;
+                this.length = length;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected List<int[]> compute() {
+                if (to - from > 1) {
+                    int middle = (from + to) >>> 1;
+                    FirstWordTask right = new FirstWordTask(low, high, mask, length, middle, to);
+                    right.fork();
+                    List<int[]> solutions = new FirstWordTask(low, high, mask, length, from, middle).compute();
+                    solutions.addAll(right.join()); // Keeping the order of the sequential search
+                    return solutions;
+                }
+                List<int[]> solutions = new ArrayList<>();
+                if (from < to) {
+                    choose(from, low, high, mask, length, maxWords, solutions);
+                }
+                return solutions;
+            }
+        }
+
+        /**
+         * Finds the ways of spelling exactly the remaining letters with at most wordsLeft classes, from the given one on.
+         *
+         * @return The solutions, as indices of classes
+         */
+        List<int[]> solve(long low, long high, int mask, int length, int from, int wordsLeft) {
+            if (length == 0) {
+                List<int[]> done = new ArrayList<>();
+                done.add(new int[0]);
+                return done;
+            }
+            if (wordsLeft == 0) {
+                return List.of();
+            }
+
+            Key key = new Key(low, high, from, wordsLeft);
+            List<int[]> cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            List<int[]> solutions = new ArrayList<>();
+            for (int i = from; i < classes.length; i++) {
+                choose(i, low, high, mask, length, wordsLeft, solutions);
+            }
+            memo.put(key, solutions); // Tasks may compute the same state twice, with the same result
+            return solutions;
+        }
+
+        /**
+         * Tries class i as the next word, adding the completed solutions.
+         */
+        private void choose(int i, long low, long high, int mask, int length, int wordsLeft, List<int[]> solutions) {
+            LetterClass letterClass = classes[i];
+            if (letterClass.length() > length || !fits(letterClass, low, high, mask)) {
+                return;
+            }
+            long restLow = low - letterClass.low();
+            long restHigh = high - letterClass.high();
+            int restMask = mask;
+            // Clearing the letters that are used up
+            for (int letters = letterClass.mask(); letters != 0; letters &= letters - 1) {
+                int letter = Integer.numberOfTrailingZeros(letters);
+                if (count(restLow, restHigh, letter) == 0) {
+                    restMask &= ~(1 << letter);
+                }
+            }
+            for (int[] rest : solve(restLow, restHigh, restMask, length - letterClass.length(), i, wordsLeft - 1)) {
+                int[] solution = new int[rest.length + 1];
+                solution[0] = i;
+                System.arraycopy(rest, 0, solution, 1, rest.length);
+                solutions.add(solution);
+            }
+        }
+    }
+
+    /**
+     * Checks that a class can be spelled with the given letters: mask subset first, then each of its counts.
+     */
+    private static boolean fits(LetterClass letterClass, long low, long high, int mask) {
+        if ((letterClass.mask() & ~mask) != 0) {
+            return false;
+        }
+        for (int letters = letterClass.mask(); letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            if (count(letterClass.low(), letterClass.high(), letter) > count(low, high, letter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int count(long low, long high, int letter) {
+        return letter < LOW_LETTERS
+            ? (int) (low >>> (letter * 4)) & MAX_COUNT
+            : (int) (high >>> ((letter - LOW_LETTERS) * 4)) & MAX_COUNT;
+    }
+
+    /**
+     * Counts the letters of a phrase, ignoring anything else.
+     *
+     * @throws IllegalArgumentException if a letter occurs more than 15 times
+     */
+    private static int[] phraseCounts(String phrase) {
+        StringBuilder letters = new StringBuilder();
+        for (char c : phrase.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c >= 'a' && c <= 'z') {
+                letters.append(c);
+            }
+        }
+        int[] counts = counts(letters.toString());
+        if (counts == null) {
+            throw new IllegalArgumentException("A phrase may contain at most " + MAX_COUNT + " of each letter.");
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the letters of a lowercase a-z string.
+     *
+     * @return The counts, or null if a letter occurs more than 15 times
+     */
+    private static int[] counts(String letters) {
+        int[] counts = new int[LETTERS];
+        for (int i = 0; i < letters.length(); i++) {
+            if (++counts[letters.charAt(i) - 'a'] > MAX_COUNT) {
+                return null;
+            }
+        }
+        return counts;
+    }
+
+    private static long pack(int[] counts, int first) {
+        long packed = 0;
+        for (int letter = first; letter < Math.min(first + LOW_LETTERS, LETTERS); letter++) {
+            packed |= (long) counts[letter] << ((letter - first) * 4);
+        }
+        return packed;
+    }
+
+    private static int mask(int[] counts) {
+        int mask = 0;
+        for (int letter = 0; letter < LETTERS; letter++) {
+            if (counts[letter] > 0) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean anagrams = args.length >= 3 && args.length <= 4 && args[1].equals("anagrams");
+        boolean spell = args.length == 3 && args[1].equals("spell");
+        if (!anagrams && !spell) {
+            System.err.println("Usage: java PhraseAnagramSearch <index-file> anagrams <phrase> [max-words] | spell <letters>");
+            System.exit(1);
+        }
+
+        PhraseAnagramSearch search;
+        try (AnagramIndex index = AnagramIndex.open(Path.of(args[0]))) {
+            search = of(index);
+        }
+        if (anagrams) {
+            int maxWords = args.length == 4 ? Integer.parseInt(args[3]) : 3;
+            search.anagrams(args[2], maxWords).forEach(System.out::println);
+        } else {
+            search.spellable(args[2]).forEach(System.out::println);
+        }
+    }
+}
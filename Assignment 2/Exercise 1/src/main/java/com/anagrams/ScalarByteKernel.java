@@ -0,0 +1,42 @@
+package com.anagrams;
+
+/**
+ * Scalar ByteKernel: one table lookup per byte.
+ * 
+ * @author Faxy
+ */
+final class ScalarByteKernel implements ByteKernel {
+    static final byte SEPARATOR = 0;
+    static final byte LETTER = 1;
+    static final byte OTHER_WORD_CHAR = 2; // Digits and underscore: part of a word, but not letters
+    static final byte[] CLASSES = new byte[256];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = LETTER;
+            CLASSES[c - 'a' + 'A'] = LETTER;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            CLASSES[c] = OTHER_WORD_CHAR;
+        }
+        CLASSES['_'] = OTHER_WORD_CHAR;
+    }
+
+    @Override
+    public int skipSeparators(byte[] bytes, int from, int to) {
+        int i = from;
+        while (i < to && CLASSES[bytes[i] & 0xFF] == SEPARATOR) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public int copyLetters(byte[] bytes, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        while (i < to && CLASSES[bytes[i] & 0xFF] == LETTER) {
+            dst[offset++] = (byte) (bytes[i++] | 0x20);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,121 @@
+package com.anagrams;
+
+import com.framework.Primitives.LongKeyJob;
+import com.framework.Primitives.LongLongConsumer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Concrete implementation of LongKeyJob that emits a (hash of the signature, 1) record for every word of a text file.
+ *
+ * It reads and filters words like FileJob, but the anagram class of a word is identified by
+ * AnagramSignature.hash64 instead of an AnagramSignature object, and nothing is allocated per word:
+ * no signature, no String and no Pair.
+ *
+ * A job covers a byte range of a .txt file (memory-mapped), or a whole .gz file (decompressed on the fly).
+ *
+ * @author Faxy
+ */
+public class SignatureHashJob extends LongKeyJob {
+    private final String fileName;
+    private final long start;
+    private final long end; // -1 for the whole file
+
+    /**
+     * Constructor to initialize the job with a whole file.
+     *
+     * @param fileName - The path of the file to process (.txt or .gz)
+     */
+    public SignatureHashJob(String fileName) {
+        this(fileName, 0, -1);
+    }
+
+    /**
+     * Constructor to initialize the job with a byte range of a text file.
+     *
+     * @param fileName - The path of the (uncompressed) file to process
+     * @param start - Position of the first byte of the range (0, or right after a separator)
+     * @param end - Position after the last byte of the range (the file size, or right after a separator)
+     */
+    public SignatureHashJob(String fileName, long start, long end) {
+        this.fileName = fileName;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Cuts a text file into ranges of about the given size, each ending right after a separator byte.
+     *
+     * @param fileName -> the path of the (uncompressed) file
+     * @param splitSize -> target size of a range in bytes
+     * @return The jobs of the ranges, in file order (a single one if the file is not larger than splitSize)
+     * @throws IOException if the file cannot be read
+     */
+    public static List<SignatureHashJob> split(String fileName, long splitSize) throws IOException {
+        return FileRangeJob.split(fileName, splitSize, FileJob.InputMode.MAPPED).stream()
+            .map(range -> new SignatureHashJob(range.getFileName(), range.getStart(), range.getEnd()))
+            .toList();
+    }
+
+    /**
+     * Executes the job, emitting the hash of the signature of every word with a count of 1.
+     *
+     * @param sink -> the consumer of the records
+     */
+    @Override
+    public void execute(LongLongConsumer sink) {
+        try {
+            if (fileName.endsWith(FileJob.GZIP_SUFFIX)) {
+                try (InputStream stream = new GZIPInputStream(Files.newInputStream(Path.of(fileName)), FileJob.DECOMPRESSION_BUFFER_SIZE)) {
+                    emit(new WordTokenizer(stream), sink);
+                }
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+                emit(new WordTokenizer(channel, start, end), sink);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Emits a record for every word of a tokenizer.
+     *
+     * @param tokenizer -> splits, lowercases and filters words in one pass
+     * @param sink -> the consumer of the records
+     * @throws IOException if the input cannot be read
+     */
+    private static void emit(WordTokenizer tokenizer, LongLongConsumer sink) throws IOException {
+        while (tokenizer.next()) {
+            sink.accept(AnagramSignature.hash64(tokenizer.word(), tokenizer.length()), 1);
+        }
+    }
+
+    /**
+     * Describes the job by the processed file and range.
+     *
+     * @return The path of the file, followed by the range if the job covers part of it
+     */
+    @Override
+    public String getDescription() {
+        return end < 0 ? fileName : fileName + "[" + start + ", " + end + ")";
+    }
+
+    /**
+     * Returns the size of the processed range.
+     *
+     * @return The range size in bytes (the file size for a whole file)
+     */
+    @Override
+    public long getInputSize() {
+        return end < 0 ? Path.of(fileName).toFile().length() : end - start;
+    }
+}
@@ -1,10 +1,10 @@
 package com.anagrams.Strategies;
 
+import com.anagrams.AnagramSignature;
 import com.framework.Utils.Pair;
 
 import com.framework.Strategies.OutputStrategy;
 
-import java.io.FileWriter;
 import java.io.IOException;
 
 import java.util.List;
@@ -13,10 +13,15 @@ import java.util.stream.Stream;
 /**
  * Implements the OutputStrategy to output results in CSV format.
  * 
+ * Lines are encoded into a large buffer and written through a FileChannel (see ChannelWriter),
+ * optionally sorted by key or by count so that the output of a run is deterministic.
+ * 
  * @author Faxy
  */
-public class CSVFileOutputStrategy implements OutputStrategy<String, String> {
+public class CSVFileOutputStrategy implements OutputStrategy<AnagramSignature, String> {
     private final String outputFilePath;
+    private final OutputOrder order;
+    private volatile long bytesWritten; // Bytes written so far
 
     /**
      * Constructor to initialize output file path.
@@ -24,7 +29,18 @@ public class CSVFileOutputStrategy implements OutputStrategy<String, String> {
      * @param outputFilePath - Path to the output CSV file
      */
     public CSVFileOutputStrategy(String outputFilePath) {
+        this(outputFilePath, OutputOrder.UNORDERED);
+    }
+
+    /**
+     * Constructor to initialize output file path and the order of the lines.
+     * 
+     * @param outputFilePath - Path to the output CSV file
+     * @param order - Order in which the anagram classes are written
+     */
+    public CSVFileOutputStrategy(String outputFilePath, OutputOrder order) {
         this.outputFilePath = outputFilePath;
+        this.order = order;
     }
 
     /**
@@ -35,24 +51,23 @@ public class CSVFileOutputStrategy implements OutputStrategy<String, String> {
      * @param result -> stream of pairs containing keys and associated list of values
      */
     @Override
-    public void output(Stream<Pair<String, List<String>>> result) {
-        try (FileWriter writer = new FileWriter(outputFilePath)) {
-            // Write CSV header
-            writer.write("Key,Count\n");
-
-            // Write each pair to the CSV file
-            result.forEach(pair -> {
-                String key = pair.getKey();
-                int count = pair.getValue().size();
-                String csvLine = key + "," + count + "\n";
-                try {
-                    writer.write(csvLine);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            });
+    public void output(Stream<Pair<AnagramSignature, List<String>>> result) {
+        bytesWritten = 0;
+        try {
+            CountFileWriter.write(outputFilePath, "Key,Count", ",", 
+                result.map(pair -> new Pair<>(pair.getKey(), (long) pair.getValue().size())), order, written -> bytesWritten = written);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Returns the number of bytes written so far.
+     * 
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
 }
@@ -0,0 +1,75 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.framework.Utils.ChannelWriter;
+import com.framework.Utils.Pair;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes "key separator count" lines for the text and CSV output strategies, in the requested order,
+ * through a ChannelWriter.
+ * 
+ * @author Faxy
+ */
+final class CountFileWriter {
+    private static final Comparator<Line> BY_KEY = Comparator.comparing(Line::key);
+    private static final Comparator<Line> BY_COUNT = Comparator.comparingLong(Line::count).reversed().thenComparing(BY_KEY);
+
+    /**
+     * A line of output: canonical form and count.
+     */
+    private record Line(String key, long count) {
+    }
+
+    private CountFileWriter() {
+    }
+
+    /**
+     * Writes the counts to a file.
+     * 
+     * @param outputFilePath -> path to the output file
+     * @param header -> first line of the file (null for none)
+     * @param separator -> separator between key and count
+     * @param counts -> stream of pairs containing keys and their count
+     * @param order -> order of the lines
+     * @param progress -> notified of the bytes written after each line
+     * @throws IOException if the file cannot be written
+     */
+    static void write(String outputFilePath, String header, String separator, Stream<Pair<AnagramSignature, Long>> counts,
+            OutputOrder order, LongConsumer progress) throws IOException {
+        try (ChannelWriter writer = new ChannelWriter(Path.of(outputFilePath))) {
+            if (header != null) {
+                writer.write(header).write('\n');
+                progress.accept(writer.getBytesWritten());
+            }
+
+            Stream<Line> lines = counts.map(pair -> new Line(pair.getKey().toString(), pair.getValue()));
+            if (order != OutputOrder.UNORDERED) {
+                // Materializing the lines to sort them in parallel (canonical forms are decoded once per key)
+                Line[] sorted = lines.toArray(Line[]::new);
+                Arrays.parallelSort(sorted, order == OutputOrder.BY_KEY ? BY_KEY : BY_COUNT);
+                lines = Arrays.stream(sorted);
+            }
+
+            try {
+                lines.forEach(line -> {
+                    try {
+                        writer.write(line.key()).write(separator).write(line.count()).write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    progress.accept(writer.getBytesWritten());
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.anagrams.Strategies;
 
+import com.anagrams.AnagramSignature;
 import com.anagrams.FileJob;
+import com.anagrams.FileRangeJob;
+import com.anagrams.ZipEntryJob;
 import com.framework.AJob;
 
 import com.framework.Strategies.EmitStrategy;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.stream.Stream;
+import java.util.zip.ZipFile;
 
 /**
  * Implements the EmitStrategy to emit new jobs for each text file in the given directory.
  * 
+ * Compressed books are read without extracting them: a .txt.gz file gives one FileJob, decompressing it
+ * on the fly, and a .zip archive gives one ZipEntryJob per .txt entry, so entries are processed in parallel
+ * like separate files.
+ * 
+ * Optionally, .txt files larger than a split size are cut into byte ranges, each processed by its own
+ * FileRangeJob, so that a single large file does not become the straggler of a parallel run.
+ * Compressed inputs are never split, since they can only be read from their start.
+ * 
  * @author Faxy
  */
-public class DirectoryEmitStrategy implements EmitStrategy<String, String> {
+public class DirectoryEmitStrategy implements EmitStrategy<AnagramSignature, String> {
     private final String directoryPath;
+    private final FileJob.InputMode inputMode;
+    private final long splitSize; // Files larger than this are split (Long.MAX_VALUE for never)
 
     /**
      * Constructor to initialize directory path.
@@ -22,20 +38,47 @@ public class DirectoryEmitStrategy implements EmitStrategy<String, String> {
      * @param directoryPath - Path to the given directory
      */
     public DirectoryEmitStrategy(String directoryPath) {
+        this(directoryPath, FileJob.InputMode.STREAM);
+    }
+
+    /**
+     * Constructor to initialize directory path and how the emitted jobs read their files.
+     * 
+     * @param directoryPath - Path to the given directory
+     * @param inputMode - Input mode of the emitted FileJobs
+     */
+    public DirectoryEmitStrategy(String directoryPath, FileJob.InputMode inputMode) {
+        this(directoryPath, inputMode, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to initialize directory path, how the emitted jobs read their files, and the split size.
+     * 
+     * @param directoryPath - Path to the given directory
+     * @param inputMode - Input mode of the emitted jobs
+     * @param splitSize - Size in bytes above which a .txt file is split into FileRangeJobs of about this size
+     */
+    public DirectoryEmitStrategy(String directoryPath, FileJob.InputMode inputMode, long splitSize) {
+        if (splitSize < 1) {
+            throw new IllegalArgumentException("The split size must be positive.");
+        }
         this.directoryPath = directoryPath;
+        this.inputMode = inputMode;
+        this.splitSize = splitSize;
     }
 
      /**
      * Emits jobs for each text file in the given directory.
      * 
-     * This method walks through the directory to find .txt files,
-     * and creates a new job (FileJob) for each .txt file. 
+     * This method walks through the directory to find .txt, .txt.gz and .zip files,
+     * and creates a new job (FileJob) for each .txt or .txt.gz file, and one job (ZipEntryJob) for each .txt entry of a .zip file. 
+     * Large .txt files give one job (FileRangeJob) per range instead, when a split size is set.
      * It returns a stream of these jobs.
      * 
-     * @return A stream of AJob instances for each .txt file
+     * @return A stream of AJob instances for each text file or entry
      */
     @Override
-    public Stream<AJob<String, String>> emit() {
+    public Stream<AJob<AnagramSignature, String>> emit() {
         /* DEGUB code to get and print the current absolute path
         
         Path currRelativePath = Paths.get("");
@@ -48,7 +91,54 @@ public class DirectoryEmitStrategy implements EmitStrategy<String, String> {
             throw new IllegalArgumentException("The provided path is not a directory.");
         }
 
-        return Stream.of(dir.listFiles(file -> file.isFile() && file.getName().endsWith(".txt")))
-            .map(file -> new FileJob(file.getAbsolutePath()));
+        return Stream.of(dir.listFiles(File::isFile)).flatMap(file -> {
+            String name = file.getName();
+            if (name.endsWith(".txt") && file.length() > splitSize) {
+                return rangeJobs(file);
+            }
+            if (name.endsWith(".txt") || name.endsWith(".txt.gz")) {
+                return Stream.of(new FileJob(file.getAbsolutePath(), inputMode));
+            }
+            if (name.endsWith(".zip")) {
+                return zipEntryJobs(file);
+            }
+            return Stream.empty();
+        });
+    }
+
+    /**
+     * Creates a job for each range of a large text file.
+     * 
+     * @param file -> the file to split
+     * @return A stream of FileRangeJob instances, in file order
+     */
+    private Stream<AJob<AnagramSignature, String>> rangeJobs(File file) {
+        try {
+            return FileRangeJob.split(file.getAbsolutePath(), splitSize, inputMode).stream()
+                .<AJob<AnagramSignature, String>>map(job -> job);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Creates a job for each text entry of a zip archive.
+     * 
+     * @param zip -> the archive
+     * @return A stream of ZipEntryJob instances for each .txt entry
+     */
+    private static Stream<AJob<AnagramSignature, String>> zipEntryJobs(File zip) {
+        // Reading the central directory only: entries are inflated later, by their jobs
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            List<AJob<AnagramSignature, String>> jobs = zipFile.stream()
+                .filter(entry -> !entry.isDirectory() && entry.getName().endsWith(".txt"))
+                .<AJob<AnagramSignature, String>>map(entry -> new ZipEntryJob(zip.getAbsolutePath(), entry.getName(), entry.getSize()))
+                .toList();
+            return jobs.stream();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
     }
 }
@@ -0,0 +1,77 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.SignatureHashJob;
+
+import com.framework.Primitives.LongEmitStrategy;
+import com.framework.Primitives.LongKeyJob;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Implements the LongEmitStrategy to emit a SignatureHashJob for each text file in the given directory.
+ *
+ * As in DirectoryEmitStrategy, .txt files larger than the split size are cut into byte ranges,
+ * while .txt.gz files give a single job. Zip archives are not read.
+ *
+ * @author Faxy
+ */
+public class DirectorySignatureEmitStrategy implements LongEmitStrategy {
+    private final String directoryPath;
+    private final long splitSize;
+
+    /**
+     * Constructor to initialize directory path and the split size.
+     *
+     * @param directoryPath - Path to the given directory
+     * @param splitSize - Size in bytes above which a .txt file is split into jobs of about this size
+     */
+    public DirectorySignatureEmitStrategy(String directoryPath, long splitSize) {
+        if (splitSize < 1) {
+            throw new IllegalArgumentException("The split size must be positive.");
+        }
+        this.directoryPath = directoryPath;
+        this.splitSize = splitSize;
+    }
+
+    /**
+     * Emits jobs for each text file in the given directory.
+     *
+     * @return A stream of SignatureHashJob instances for each .txt or .txt.gz file (or range)
+     */
+    @Override
+    public Stream<LongKeyJob> emit() {
+        File dir = new File(directoryPath);
+        if (!dir.isDirectory()) {
+            throw new IllegalArgumentException("The provided path is not a directory.");
+        }
+
+        return Stream.of(dir.listFiles(File::isFile)).flatMap(file -> {
+            String name = file.getName();
+            if (name.endsWith(".txt")) {
+                return rangeJobs(file);
+            }
+            if (name.endsWith(".txt.gz")) {
+                return Stream.of(new SignatureHashJob(file.getAbsolutePath()));
+            }
+            return Stream.empty();
+        });
+    }
+
+    /**
+     * Creates a job for each range of a text file.
+     *
+     * @param file -> the file to split
+     * @return A stream of jobs, in file order
+     */
+    private Stream<LongKeyJob> rangeJobs(File file) {
+        try {
+            return SignatureHashJob.split(file.getAbsolutePath(), splitSize).stream()
+                .map(LongKeyJob.class::cast);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramIndex;
+import com.anagrams.AnagramSignature;
+import com.framework.Utils.Pair;
+
+import com.framework.Strategies.OutputStrategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Implements the OutputStrategy to output results as a binary anagram index.
+ *
+ * Unlike the text and CSV outputs, the index keeps the distinct words of every anagram class,
+ * and is laid out to be memory-mapped and queried in place by AnagramIndex
+ * (see AnagramIndex for the file format).
+ *
+ * The file is written to a temporary file and moved into place, so a reader never sees a partial index.
+ *
+ * @author Faxy
+ */
+public class IndexFileOutputStrategy implements OutputStrategy<AnagramSignature, String> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final Path outputFilePath;
+    private volatile long bytesWritten;
+
+    /**
+     * An anagram class, ready to be written: canonical form, number of words and distinct words (sorted).
+     */
+    private record Entry(byte[] key, long count, byte[][] words) {
+    }
+
+    /**
+     * Constructor to initialize output file path.
+     *
+     * @param outputFilePath - Path to the output index file
+     */
+    public IndexFileOutputStrategy(String outputFilePath) {
+        this.outputFilePath = Path.of(outputFilePath).toAbsolutePath();
+    }
+
+    /**
+     * Outputs the given stream of pairs to an index file.
+     *
+     * Classes are sorted by canonical form (for binary search), and their ranking by count is stored as well
+     * (for top-N queries).
+     *
+     * @param result -> stream of pairs containing keys and associated list of values
+     */
+    @Override
+    public void output(Stream<Pair<AnagramSignature, List<String>>> result) {
+        bytesWritten = 0;
+        List<Entry> entries = new ArrayList<>();
+        result.forEach(pair -> {
+            TreeSet<String> distinct = new TreeSet<>(pair.getValue());
+            byte[][] words = distinct.stream().map(word -> word.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+            entries.add(new Entry(pair.getKey().toString().getBytes(StandardCharsets.UTF_8), pair.getValue().size(), words));
+        });
+        entries.sort((a, b) -> Arrays.compareUnsigned(a.key(), b.key()));
+
+        try {
+            write(entries);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the sorted classes to the index file.
+     *
+     * @param entries -> anagram classes sorted by canonical form
+     */
+    private void write(List<Entry> entries) throws IOException {
+        int classCount = entries.size();
+        long wordCount = 0;
+        long poolSize = 0;
+        for (Entry entry : entries) {
+            wordCount += entry.words().length;
+            poolSize += entry.key().length;
+            for (byte[] word : entry.words()) {
+                poolSize += word.length;
+            }
+        }
+        long fileSize = AnagramIndex.poolOffset(classCount, wordCount) + poolSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The index would exceed " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        // Ranking of the classes by count (descending), ties broken by canonical form
+        Integer[] byCount = new Integer[classCount];
+        for (int i = 0; i < classCount; i++) {
+            byCount[i] = i;
+        }
+        Arrays.sort(byCount, Comparator.<Integer>comparingLong(i -> entries.get(i).count()).reversed()
+            .thenComparingInt(i -> i));
+
+        Path temp = outputFilePath.resolveSibling(outputFilePath.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), IO_BUFFER_SIZE))) {
+                // Header
+                out.writeInt(AnagramIndex.MAGIC);
+                out.writeInt(AnagramIndex.FORMAT_VERSION);
+                out.writeInt(classCount);
+                out.writeInt((int) wordCount);
+                out.writeLong(poolSize);
+
+                // Class block: pool offset and length of the key, count, first word and number of words
+                int poolOffset = 0;
+                int firstWord = 0;
+                for (Entry entry : entries) {
+                    out.writeInt(poolOffset);
+                    out.writeInt(entry.key().length);
+                    out.writeLong(entry.count());
+                    out.writeInt(firstWord);
+                    out.writeInt(entry.words().length);
+                    poolOffset += entry.key().length;
+                    for (byte[] word : entry.words()) {
+                        poolOffset += word.length;
+                    }
+                    firstWord += entry.words().length;
+                }
+
+                // Ranking block
+                for (int i : byCount) {
+                    out.writeInt(i);
+                }
+
+                // Word block: pool offset and length of every word (each class stores its key first)
+                poolOffset = 0;
+                for (Entry entry : entries) {
+                    poolOffset += entry.key().length;
+                    for (byte[] word : entry.words()) {
+                        out.writeInt(poolOffset);
+                        out.writeInt(word.length);
+                        poolOffset += word.length;
+                    }
+                }
+
+                // String pool
+                for (Entry entry : entries) {
+                    out.write(entry.key());
+                    for (byte[] word : entry.words()) {
+                        out.write(word);
+                    }
+                }
+            }
+            Files.move(temp, outputFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            bytesWritten = fileSize;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns the size of the written index (known once the whole index is written).
+     *
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
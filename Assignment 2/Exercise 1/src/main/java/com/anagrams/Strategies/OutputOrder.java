@@ -0,0 +1,15 @@
+package com.anagrams.Strategies;
+
+/**
+ * Order in which the count output strategies write the anagram classes.
+ * 
+ * A sorted order makes the output of two runs directly comparable (e.g. with diff),
+ * at the cost of materializing and sorting the results (in parallel) before writing them.
+ * 
+ * @author Faxy
+ */
+public enum OutputOrder {
+    UNORDERED, // As produced by the framework, streamed without materializing the results
+    BY_KEY,    // Alphabetically by canonical form
+    BY_COUNT   // By decreasing count, then alphabetically by canonical form
+}
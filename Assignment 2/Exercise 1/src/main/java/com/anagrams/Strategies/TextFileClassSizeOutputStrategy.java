@@ -0,0 +1,54 @@
+package com.anagrams.Strategies;
+
+import com.framework.Primitives.LongLongHashMap;
+import com.framework.Primitives.LongOutputStrategy;
+import com.framework.Utils.ChannelWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Implements the LongOutputStrategy to output the distribution of the sizes of the anagram classes in text format.
+ *
+ * Each line reads "size: number of classes of that size", by increasing size. The counts of the classes are
+ * themselves tallied in a LongLongHashMap, so the output never boxes a count either.
+ *
+ * @author Faxy
+ */
+public class TextFileClassSizeOutputStrategy implements LongOutputStrategy {
+    private final String outputFilePath;
+
+    /**
+     * Constructor to initialize output file path.
+     *
+     * @param outputFilePath - Path to the output text file
+     */
+    public TextFileClassSizeOutputStrategy(String outputFilePath) {
+        this.outputFilePath = outputFilePath;
+    }
+
+    /**
+     * Outputs the distribution of the class sizes to a text file.
+     *
+     * @param result -> the map from each anagram class to its number of words
+     */
+    @Override
+    public void output(LongLongHashMap result) {
+        LongLongHashMap classesBySize = new LongLongHashMap();
+        result.forEach((signature, count) -> classesBySize.addTo(count, 1));
+
+        long[] sizes = new long[classesBySize.size()];
+        int[] next = {0};
+        classesBySize.forEach((size, classes) -> sizes[next[0]++] = size);
+        Arrays.sort(sizes);
+
+        try (ChannelWriter writer = new ChannelWriter(Path.of(outputFilePath))) {
+            for (long size : sizes) {
+                writer.write(size).write(": ").write(classesBySize.get(size, 0)).write('\n');
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
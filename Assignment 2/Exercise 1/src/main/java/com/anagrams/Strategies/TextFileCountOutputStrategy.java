@@ -0,0 +1,56 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.framework.Utils.Pair;
+
+import com.framework.Strategies.ReducedOutputStrategy;
+
+import java.io.IOException;
+
+import java.util.stream.Stream;
+
+/**
+ * Implements the ReducedOutputStrategy to output pre-computed counts in text format.
+ * 
+ * Produces the same format as TextFileOutputStrategy.
+ * 
+ * @author Faxy
+ */
+public class TextFileCountOutputStrategy implements ReducedOutputStrategy<AnagramSignature, Long> {
+    private final String outputFilePath;
+    private final OutputOrder order;
+
+    /**
+     * Constructor to initialize output file path.
+     * 
+     * @param outputFilePath - Path to the output text file
+     */
+    public TextFileCountOutputStrategy(String outputFilePath) {
+        this(outputFilePath, OutputOrder.UNORDERED);
+    }
+
+    /**
+     * Constructor to initialize output file path and the order of the lines.
+     * 
+     * @param outputFilePath - Path to the output text file
+     * @param order - Order in which the anagram classes are written
+     */
+    public TextFileCountOutputStrategy(String outputFilePath, OutputOrder order) {
+        this.outputFilePath = outputFilePath;
+        this.order = order;
+    }
+
+    /**
+     * Outputs the given stream of pairs to a text file.
+     * 
+     * @param result -> stream of pairs containing keys and associated count
+     */
+    @Override
+    public void output(Stream<Pair<AnagramSignature, Long>> result) {
+        try {
+            CountFileWriter.write(outputFilePath, null, ": ", result, order, written -> { });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
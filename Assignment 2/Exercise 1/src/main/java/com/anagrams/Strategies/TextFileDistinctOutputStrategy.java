@@ -0,0 +1,104 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.framework.Sketches.HyperLogLog;
+import com.framework.Utils.ChannelWriter;
+import com.framework.Utils.Pair;
+
+import com.framework.Strategies.ReducedOutputStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Implements the ReducedOutputStrategy to output approximate distinct-word counts in text format.
+ * 
+ * Each line holds an anagram class and the estimated number of distinct words in it,
+ * followed by its standard error when the estimate is not exact (e.g. "aekl: 3" or "aest: 1204 ±20").
+ * The number of classes written and the sum of the estimates are kept for a summary.
+ * Lines go through a ChannelWriter; the output stops at the first write failure.
+ * 
+ * @author Faxy
+ */
+public class TextFileDistinctOutputStrategy implements ReducedOutputStrategy<AnagramSignature, HyperLogLog> {
+    private final String outputFilePath;
+    private long classes; // Number of anagram classes written
+    private long distinctWords; // Sum of the estimates (each word belongs to exactly one class)
+    private volatile long bytesWritten; // Bytes written so far
+
+    /**
+     * Constructor to initialize output file path.
+     * 
+     * @param outputFilePath - Path to the output text file
+     */
+    public TextFileDistinctOutputStrategy(String outputFilePath) {
+        this.outputFilePath = outputFilePath;
+    }
+
+    /**
+     * Outputs the given stream of pairs to a text file.
+     * 
+     * @param result -> stream of pairs containing keys and the sketch of their distinct words
+     */
+    @Override
+    public void output(Stream<Pair<AnagramSignature, HyperLogLog>> result) {
+        classes = 0;
+        distinctWords = 0;
+        bytesWritten = 0;
+        try (ChannelWriter writer = new ChannelWriter(Path.of(outputFilePath))) {
+            try {
+                result.forEach(pair -> {
+                    HyperLogLog sketch = pair.getValue();
+                    long estimate = sketch.estimate();
+                    try {
+                        writer.write(pair.getKey().toString()).write(": ").write(estimate);
+                        if (!sketch.isExact()) {
+                            writer.write(" ±").write(sketch.standardError());
+                        }
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    classes++;
+                    distinctWords += estimate;
+                    bytesWritten = writer.getBytesWritten();
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     * 
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of anagram classes written by the last output.
+     * 
+     * @return The number of classes
+     */
+    public long getClasses() {
+        return classes;
+    }
+
+    /**
+     * Returns the estimated number of distinct words written by the last output.
+     * 
+     * @return The sum of the per-class estimates
+     */
+    public long getDistinctWords() {
+        return distinctWords;
+    }
+}
@@ -0,0 +1,65 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.framework.Sketches.TopK;
+import com.framework.Utils.Pair;
+
+import com.framework.Strategies.ReducedOutputStrategy;
+
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Implements the ReducedOutputStrategy to output the largest anagram classes from pre-computed counts.
+ * 
+ * Produces the same format as TextFileTopOutputStrategy, keeping only K counts in memory.
+ * 
+ * @author Faxy
+ */
+public class TextFileTopCountOutputStrategy implements ReducedOutputStrategy<AnagramSignature, Long> {
+    private final String outputFilePath;
+    private final int k;
+    private volatile long bytesWritten; // Bytes written so far
+
+    /**
+     * Constructor to initialize output file path and the number of classes.
+     * 
+     * @param outputFilePath - Path to the output text file
+     * @param k - Number of anagram classes to output
+     */
+    public TextFileTopCountOutputStrategy(String outputFilePath, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("At least one anagram class must be output.");
+        }
+        this.outputFilePath = outputFilePath;
+        this.k = k;
+    }
+
+    /**
+     * Outputs the K largest classes to a text file.
+     * 
+     * @param result -> stream of pairs containing keys and associated count
+     */
+    @Override
+    public void output(Stream<Pair<AnagramSignature, Long>> result) {
+        TopK<AnagramSignature> top = TopK.select(result, k, Comparator.naturalOrder(), Pair::getKey, Pair::getValue);
+        bytesWritten = 0;
+        try {
+            CountFileWriter.write(outputFilePath, null, ": ", top.toList().stream(), OutputOrder.UNORDERED, written -> bytesWritten = written);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     * 
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,60 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.framework.Utils.Pair;
+
+import com.framework.Strategies.TopKOutputStrategy;
+
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implements the TopKOutputStrategy to output the largest anagram classes in text format.
+ * 
+ * Produces the lines of TextFileOutputStrategy for the K classes with the most words only,
+ * by decreasing count (classes with the same count in signature order).
+ * 
+ * @author Faxy
+ */
+public class TextFileTopOutputStrategy extends TopKOutputStrategy<AnagramSignature, String> {
+    private final String outputFilePath;
+    private volatile long bytesWritten; // Bytes written so far
+
+    /**
+     * Constructor to initialize output file path and the number of classes.
+     * 
+     * @param outputFilePath - Path to the output text file
+     * @param k - Number of anagram classes to output
+     */
+    public TextFileTopOutputStrategy(String outputFilePath, int k) {
+        super(k, Comparator.naturalOrder());
+        this.outputFilePath = outputFilePath;
+    }
+
+    /**
+     * Writes the largest classes to a text file.
+     * 
+     * @param top -> the largest classes and their count, by decreasing count
+     */
+    @Override
+    protected void write(List<Pair<AnagramSignature, Long>> top) {
+        bytesWritten = 0;
+        try {
+            CountFileWriter.write(outputFilePath, null, ": ", top.stream(), OutputOrder.UNORDERED, written -> bytesWritten = written);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     * 
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
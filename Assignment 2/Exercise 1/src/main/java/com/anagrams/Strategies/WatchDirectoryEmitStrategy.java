@@ -0,0 +1,177 @@
+package com.anagrams.Strategies;
+
+import com.anagrams.AnagramSignature;
+import com.anagrams.FileJob;
+import com.framework.AJob;
+
+import com.framework.Strategies.WatchEmitStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the WatchEmitStrategy to emit jobs for the text files of a directory as they change.
+ * 
+ * After an initial scan, the directory is watched with a WatchService: a new job is emitted for every
+ * created or modified .txt file, and deleted files are reported as removed.
+ * Events are collected until the directory has been quiet for a short period, so that a file
+ * still being copied is processed once, and so that a group of files dropped together forms one batch.
+ * 
+ * A file of the directory can be excluded, typically the output of the scheduler when it is written
+ * inside the watched directory: otherwise every refresh of the output would be counted as a new book.
+ * 
+ * @author Faxy
+ */
+public class WatchDirectoryEmitStrategy implements WatchEmitStrategy<AnagramSignature, String> {
+    private static final long QUIET_PERIOD_MS = 500; // Time without events that closes a batch
+
+    private final String directoryPath;
+    private final Path excludedPath; // Never processed (null for none)
+    private final Set<String> known = new HashSet<>(); // Files reported to the listener and not removed
+
+    /**
+     * Constructor to initialize directory path.
+     * 
+     * @param directoryPath - Path to the watched directory
+     */
+    public WatchDirectoryEmitStrategy(String directoryPath) {
+        this(directoryPath, null);
+    }
+
+    /**
+     * Constructor to initialize directory path and a file that is never processed.
+     * 
+     * @param directoryPath - Path to the watched directory
+     * @param excludedFilePath - Path to a file ignored even if it is in the directory (null for none)
+     */
+    public WatchDirectoryEmitStrategy(String directoryPath, String excludedFilePath) {
+        this.directoryPath = directoryPath;
+        this.excludedPath = excludedFilePath == null ? null : Path.of(excludedFilePath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Watches the directory and notifies the listener until the calling thread is interrupted.
+     * 
+     * @param listener -> the listener to notify
+     */
+    @Override
+    public void watch(ChangeListener<AnagramSignature, String> listener) {
+        File dir = new File(directoryPath);
+        if (!dir.isDirectory()) {
+            throw new IllegalArgumentException("The provided path is not a directory.");
+        }
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            Path dirPath = dir.toPath().toAbsolutePath();
+            // Registering before the initial scan, so that no change can be missed in between
+            dirPath.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            notify(listener, rescan(dir), new HashSet<>());
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> touched = new HashSet<>();
+                boolean overflow = false;
+
+                // Waiting for the first event, then collecting events until the directory is quiet
+                WatchKey key = watcher.take();
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else {
+                            Path file = dirPath.resolve((Path) event.context());
+                            if (isWatched(file)) {
+                                touched.add(file.toString());
+                            }
+                        }
+                    }
+                    if (!key.reset()) {
+                        throw new IllegalStateException("The watched directory is no longer accessible.");
+                    }
+                    key = watcher.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+                }
+
+                if (overflow) {
+                    // Events were lost: reconcile with the actual content of the directory
+                    Set<String> existing = rescan(dir);
+                    Set<String> removed = new HashSet<>(known);
+                    removed.removeAll(existing);
+                    notify(listener, existing, removed);
+                } else {
+                    Set<String> changed = new HashSet<>();
+                    Set<String> removed = new HashSet<>();
+                    for (String file : touched) {
+                        if (new File(file).isFile()) {
+                            changed.add(file);
+                        } else if (known.contains(file)) {
+                            removed.add(file);
+                        }
+                    }
+                    notify(listener, changed, removed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Notifies the listener of a batch of changes, unless the batch is empty.
+     * 
+     * @param listener -> the listener to notify
+     * @param changed -> paths of the new or modified files
+     * @param removed -> paths of the removed files
+     */
+    private void notify(ChangeListener<AnagramSignature, String> listener, Set<String> changed, Set<String> removed) {
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        Map<String, AJob<AnagramSignature, String>> jobs = new HashMap<>();
+        for (String file : changed) {
+            jobs.put(file, new FileJob(file));
+        }
+        known.removeAll(removed);
+        known.addAll(changed);
+        listener.onChanges(jobs, removed);
+    }
+
+    /**
+     * Lists the text files currently in the directory.
+     * 
+     * @param dir -> the directory to scan
+     * @return The absolute paths of the .txt files
+     */
+    private Set<String> rescan(File dir) {
+        Set<String> files = new HashSet<>();
+        File[] listed = dir.listFiles(file -> file.isFile() && isWatched(file.toPath().toAbsolutePath()));
+        if (listed != null) {
+            for (File file : listed) {
+                files.add(file.toPath().toAbsolutePath().toString());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Tells whether a file of the directory is processed: a text file other than the excluded one.
+     * 
+     * @param file -> absolute path of the file
+     * @return true if the file is processed
+     */
+    private boolean isWatched(Path file) {
+        return file.getFileName().toString().endsWith(".txt") && !file.normalize().equals(excludedPath);
+    }
+}
@@ -0,0 +1,56 @@
+package com.anagrams;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized ByteKernel, classifying a full vector of bytes per iteration with the Vector API.
+ * 
+ * Letters are recognized by folding the case (b | 0x20) and comparing with the range 'a'-'z';
+ * non-ASCII bytes are negative and never match. The first byte of interest in a vector is found with
+ * a comparison mask, and the remaining bytes (less than a vector) are handled by the scalar kernel.
+ * Only loaded when the jdk.incubator.vector module is available (see ByteKernel.load()).
+ * 
+ * @author Faxy
+ */
+final class VectorByteKernel implements ByteKernel {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final ScalarByteKernel TAIL = new ScalarByteKernel();
+
+    @Override
+    public int skipSeparators(byte[] bytes, int from, int to) {
+        int i = from;
+        for (; i <= to - SPECIES.length(); i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, bytes, i);
+            VectorMask<Byte> wordChars = letters(v)
+                .or(v.compare(VectorOperators.GE, (byte) '0').and(v.compare(VectorOperators.LE, (byte) '9')))
+                .or(v.compare(VectorOperators.EQ, (byte) '_'));
+            if (wordChars.anyTrue()) {
+                return i + wordChars.firstTrue();
+            }
+        }
+        return TAIL.skipSeparators(bytes, i, to);
+    }
+
+    @Override
+    public int copyLetters(byte[] bytes, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        for (; i <= to - SPECIES.length(); i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, bytes, i);
+            // Storing the whole lowercased vector: bytes past the word are overwritten by later words
+            v.or((byte) 0x20).intoArray(dst, offset + (i - from));
+            VectorMask<Byte> others = letters(v).not();
+            if (others.anyTrue()) {
+                return i + others.firstTrue();
+            }
+        }
+        return TAIL.copyLetters(bytes, i, to, dst, offset + (i - from));
+    }
+
+    private static VectorMask<Byte> letters(ByteVector v) {
+        ByteVector folded = v.or((byte) 0x20);
+        return folded.compare(VectorOperators.GE, (byte) 'a').and(folded.compare(VectorOperators.LE, (byte) 'z'));
+    }
+}
@@ -0,0 +1,196 @@
+package com.anagrams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level tokenizer extracting the words accepted by FileJob.
+ * 
+ * The input is scanned directly in a reusable byte window: word characters are [A-Za-z0-9_]
+ * (the complement of the \W regex class) and every other byte, including all the bytes of
+ * non-ASCII UTF-8 sequences, is a separator. A word is accepted if it has at least four characters
+ * and only letters; letters are case-folded (ASCII) while scanning.
+ * No object is allocated per word: Strings are created only on demand for accepted words.
+ * 
+ * The input is either an InputStream, read chunk by chunk into a heap window, or a FileChannel,
+ * memory-mapped region by region and copied window by window (a bulk copy into a cache-resident array,
+ * without read system calls and without charset decoding).
+ * Since only ASCII bytes can be word characters, both paths work on UTF-8 (and ASCII) input.
+ * Either input may be limited to a byte range of a file (see FileRangeJob).
+ * 
+ * Windows are scanned by a ByteKernel, vectorized when the jdk.incubator.vector module is available.
+ * 
+ * @author Faxy
+ */
+public final class WordTokenizer {
+    public static final int MIN_LENGTH = 4; // Shorter words are ignored
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long REGION_SIZE = 1L << 30; // Bytes mapped at once
+    private static final ByteKernel KERNEL = ByteKernel.load();
+
+    private final InputStream in; // Streamed input (null when mapped)
+    private long remaining; // Bytes of the stream that may still be read
+    private final FileChannel channel; // Mapped input (null when streamed)
+    private long mapped; // Position of the channel mapped so far
+    private final long end; // End of the mapped range (-1 for the end of the channel)
+    private ByteBuffer region; // Mapped region being copied into the window
+    private final byte[] window = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] word = new byte[32]; // Current word, lowercase
+    private int length;
+
+    /**
+     * Constructor to initialize the input to tokenize.
+     * 
+     * @param in - The input stream (not buffered: the tokenizer has its own buffer)
+     */
+    public WordTokenizer(InputStream in) {
+        this(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to initialize the input to tokenize, reading at most the given number of bytes.
+     * 
+     * @param in - The input stream (not buffered: the tokenizer has its own buffer)
+     * @param length - Maximum number of bytes to read from the stream
+     */
+    public WordTokenizer(InputStream in, long length) {
+        this.in = in;
+        this.remaining = length;
+        this.channel = null;
+        this.end = -1;
+    }
+
+    /**
+     * Constructor to initialize a memory-mapped input to tokenize.
+     * 
+     * @param channel - The file channel, mapped read-only up to its current size
+     */
+    public WordTokenizer(FileChannel channel) {
+        this(channel, 0, -1);
+    }
+
+    /**
+     * Constructor to initialize a memory-mapped byte range to tokenize.
+     * 
+     * @param channel - The file channel, mapped read-only
+     * @param start - Position of the first byte to tokenize
+     * @param end - Position after the last byte to tokenize (-1 for the current size of the channel)
+     */
+    public WordTokenizer(FileChannel channel, long start, long end) {
+        this.in = null;
+        this.channel = channel;
+        this.mapped = start;
+        this.end = end;
+    }
+
+    /**
+     * Advances to the next accepted word.
+     * 
+     * @return false if the input is exhausted
+     * @throws IOException if the input cannot be read
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            // Skipping separators
+            do {
+                if (position == limit && !refill()) {
+                    return false;
+                }
+                position = KERNEL.skipSeparators(window, position, limit);
+            } while (position == limit);
+
+            // Reading the word, remembering whether it contains a non-letter
+            length = 0;
+            boolean letters = true;
+            while (true) {
+                if (length + (limit - position) > word.length) {
+                    word = Arrays.copyOf(word, Math.max(word.length * 2, length + (limit - position)));
+                }
+                int end = KERNEL.copyLetters(window, position, limit, word, length);
+                length += end - position;
+                position = end;
+                if (position == limit) {
+                    if (!refill()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (ScalarByteKernel.CLASSES[window[position] & 0xFF] == ScalarByteKernel.SEPARATOR) {
+                    break;
+                }
+                // A digit or an underscore: the word is rejected, but its letters are still part of it
+                letters = false;
+                position++;
+            }
+
+            if (letters && length >= MIN_LENGTH) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return The length of the current word
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the buffer holding the current word; only the first length() bytes are meaningful.
+     * 
+     * @return The lowercase ASCII letters of the current word
+     */
+    public byte[] word() {
+        return word;
+    }
+
+    /**
+     * @return The current word as a String
+     */
+    public String wordString() {
+        return new String(word, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads the next chunk of input into the buffer.
+     * 
+     * @return false if the input is exhausted
+     * @throws IOException if the input cannot be read
+     */
+    private boolean refill() throws IOException {
+        if (in != null) {
+            int read = remaining > 0 ? in.read(window, 0, (int) Math.min(window.length, remaining)) : -1;
+            if (read <= 0) {
+                return false;
+            }
+            remaining -= read;
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        // Mapping the next region of the file once the current one is consumed
+        if (region == null || !region.hasRemaining()) {
+            long size = end < 0 ? channel.size() : end;
+            if (mapped >= size) {
+                return false;
+            }
+            long regionSize = Math.min(REGION_SIZE, size - mapped);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, mapped, regionSize);
+            mapped += regionSize;
+        }
+        // Words crossing windows or regions are carried over in the word buffer
+        position = 0;
+        limit = Math.min(window.length, region.remaining());
+        region.get(window, 0, limit);
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package com.anagrams;
+
+import com.framework.Utils.Pair;
+import com.framework.AJob;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Concrete implementation of AJob that finds anagrams in one text entry of a zip archive.
+ * 
+ * Emits the same pairs as a FileJob on the extracted entry, inflating it while it is tokenized, so the archive
+ * never has to be extracted to disk. Each job opens the archive on its own, so that the entries of one archive
+ * are independent jobs and can be processed in parallel.
+ * 
+ * Unlike FileJob, the job is not cacheable: its input is only a part of the archive file.
+ * Like FileJob, it is Serializable, so that it can be sent to a worker process.
+ * 
+ * @author Faxy
+ */
+public class ZipEntryJob extends AJob<AnagramSignature, String> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String zipFileName;
+    private final String entryName;
+    private final long entrySize;
+
+    /**
+     * Constructor to initialize the job with the archive and the entry to process.
+     * 
+     * @param zipFileName - The path of the zip archive
+     * @param entryName - The name of the entry to process
+     * @param entrySize - The uncompressed size of the entry (-1 if unknown)
+     */
+    public ZipEntryJob(String zipFileName, String entryName, long entrySize) {
+        this.zipFileName = zipFileName;
+        this.entryName = entryName;
+        this.entrySize = entrySize;
+    }
+
+    /**
+     * Executes the job and processes the entry to find anagrams.
+     * 
+     * @return A stream of key-value pairs representing anagrams
+     * @throws UncheckedIOException if the entry cannot be opened (or, while the stream is consumed, read)
+     */
+    @Override
+    public Stream<Pair<AnagramSignature, String>> execute() {
+        ZipFile zip = null;
+        try {
+            zip = new ZipFile(zipFileName);
+            ZipEntry entry = zip.getEntry(entryName);
+            if (entry == null) {
+                throw new IOException("No entry " + entryName + " in " + zipFileName);
+            }
+            InputStream in = new BufferedInputStream(zip.getInputStream(entry), FileJob.DECOMPRESSION_BUFFER_SIZE);
+            return FileJob.tokenize(new WordTokenizer(in), zip); // Closing the archive closes the entry stream too
+        } catch (IOException e) {
+            if (zip != null) {
+                try {
+                    zip.close();
+                } catch (IOException closing) {
+                    e.addSuppressed(closing);
+                }
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Describes the job by the processed entry.
+     * 
+     * @return The path of the archive and the name of the entry
+     */
+    @Override
+    public String getDescription() {
+        return zipFileName + "!" + entryName;
+    }
+
+    /**
+     * Returns the uncompressed size of the processed entry.
+     * 
+     * @return The entry size in bytes, or -1 if unknown
+     */
+    @Override
+    public long getInputSize() {
+        return entrySize;
+    }
+}
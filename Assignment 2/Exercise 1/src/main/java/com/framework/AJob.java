@@ -8,5 +8,23 @@ public abstract class AJob<K,V>{
 
     public abstract Stream<Pair<K,V>> execute();
 
+    /**
+     * Describes the job for monitoring purposes (e.g. the processed file).
+     * 
+     * @return A short description of the job
+     */
+    public String getDescription() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Returns the size of the input of the job for monitoring purposes.
+     * 
+     * @return The input size in bytes, or -1 if unknown
+     */
+    public long getInputSize() {
+        return -1;
+    }
+
 }
 
@@ -0,0 +1,109 @@
+package com.framework;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Bounded queue connecting two stages of a pipeline.
+ * 
+ * Producers block when the channel is full (backpressure) and consumers block when it is empty.
+ * Once the producers are done the channel is closed with an end marker that every consumer gets to see.
+ * 
+ * @param <T> - Type of the items
+ * 
+ * @author Faxy
+ */
+final class BoundedChannel<T> {
+    private static final Object END = new Object(); // Marks the end of the items
+
+    private final BlockingQueue<Object> queue;
+
+    /**
+     * Constructor to initialize the capacity of the channel.
+     * 
+     * @param capacity - Maximum number of items waiting in the channel
+     */
+    BoundedChannel(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Puts an item in the channel, waiting while it is full.
+     * 
+     * @param item -> the item to put
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    /**
+     * Signals that no more items will be put in the channel.
+     * 
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void close() throws InterruptedException {
+        queue.put(END);
+    }
+
+    /**
+     * Takes the next item, waiting while the channel is empty.
+     * 
+     * @return The next item, or null if the channel is closed and drained
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @SuppressWarnings("unchecked")
+    T take() throws InterruptedException {
+        Object item = queue.take();
+        if (item == END) {
+            // Putting the marker back so that the other consumers see it too
+            queue.put(END);
+            return null;
+        }
+        return (T) item;
+    }
+
+    /**
+     * Returns a blocking stream over the items of the channel, ending when the channel is closed.
+     * 
+     * An interruption while waiting ends the stream with a CancellationException.
+     * 
+     * @return The stream of items
+     */
+    Stream<T> stream() {
+        Iterator<T> iterator = new Iterator<>() {
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException("Interrupted while waiting on the channel.");
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = next;
+                next = null;
+                return item;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
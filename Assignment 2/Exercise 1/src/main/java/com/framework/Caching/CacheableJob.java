@@ -0,0 +1,24 @@
+package com.framework.Caching;
+
+import java.nio.file.Path;
+
+/**
+ * Implemented by jobs whose results can be served from a ResultCache.
+ * 
+ * The results of a cacheable job must depend only on the content of its input file and on its logic,
+ * identified by the version: the version must change whenever the emitted pairs would change.
+ * 
+ * @author Faxy
+ */
+public interface CacheableJob {
+
+    /**
+     * @return The file processed by the job
+     */
+    Path getInputPath();
+
+    /**
+     * @return The version of the job logic
+     */
+    String getVersion();
+}
@@ -0,0 +1,508 @@
+package com.framework.Caching;
+
+import com.framework.AJob;
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent, content-addressed cache of job results.
+ * 
+ * The results of a CacheableJob are stored in a file named after the SHA-256 digest of the job input content
+ * and of the job version. When the same input is processed again by the same logic, the pairs are read back
+ * from the cache instead of executing the job. Jobs that are not cacheable are simply executed.
+ * 
+ * Hashing the content of an input is only needed when it changed: the digest is recorded in a small stamp
+ * together with the size and modification time of the input, and reused while they stay the same
+ * (inputs modified in the last seconds are not stamped, since a later change could keep the same time).
+ * 
+ * Entries are streamed in both directions: a hit decodes the pairs as they are consumed, and a miss writes
+ * the pairs of the job to the entry as they go through, committing it once the job stream is exhausted.
+ * An entry that turns out to be corrupted is deleted and the job is executed instead, skipping the pairs
+ * already served. The total size of the cache is bounded: least recently used files are evicted first.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public class ResultCache<K, V> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String STAMP_SUFFIX = ".stamp";
+    private static final String ENTRY_FORMAT = "pairs-1"; // Part of the digest: to be changed with the entry layout
+    private static final int ENTRY_MAGIC = 0x52434831; // "RCH1"
+    private static final byte PAIR = 1; // Marks a pair in an entry
+    private static final byte END = 0; // Marks the end of an entry
+    private static final long RACY_WINDOW_MILLIS = 2_000; // Inputs modified more recently are not stamped
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+
+    /**
+     * Constructor to initialize the cache directory, its size bound and the codecs of the entries.
+     * 
+     * @param directory - Directory of the cache (created if missing)
+     * @param maxBytes - Maximum total size of the entries
+     * @param keyCodec - Codec for the keys
+     * @param valueCodec - Codec for the values
+     */
+    public ResultCache(Path directory, long maxBytes, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Executes a job, serving its results from the cache when possible.
+     * 
+     * On a miss the job is executed and its results are stored while they are consumed.
+     * If the cache cannot be read or written, the job is executed normally.
+     * 
+     * @param job -> the job to execute
+     * @return The stream of pairs of the job
+     */
+    public Stream<Pair<K, V>> execute(AJob<K, V> job) {
+        if (!(job instanceof CacheableJob cacheable)) {
+            return job.execute();
+        }
+
+        BasicFileAttributes attributes;
+        Path entry;
+        try {
+            attributes = Files.readAttributes(cacheable.getInputPath(), BasicFileAttributes.class);
+            entry = directory.resolve(digest(cacheable, attributes) + ENTRY_SUFFIX);
+            if (Files.exists(entry)) {
+                Stream<Pair<K, V>> cached = read(entry, job);
+                // Marking the entry as recently used
+                touch(entry);
+                return cached;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return job.execute();
+        }
+        return record(job, cacheable.getInputPath(), attributes, entry);
+    }
+
+    /**
+     * Computes the cache key of a job: SHA-256 of its version and of the content of its input.
+     * 
+     * The content is only hashed when the stamp of the input is missing or does not match its size
+     * and modification time anymore.
+     * 
+     * @param job -> the cacheable job
+     * @param attributes -> the current attributes of the input
+     * @return The hexadecimal digest
+     * @throws IOException if the input cannot be read
+     */
+    private String digest(CacheableJob job, BasicFileAttributes attributes) throws IOException {
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        Path stamp = directory.resolve(sha256(job.getVersion() + '\0' + job.getInputPath().toAbsolutePath()) + STAMP_SUFFIX);
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(stamp))) {
+            if (in.readLong() == size && in.readLong() == modified) {
+                String digest = in.readUTF();
+                if (digest.length() == 64) {
+                    touch(stamp);
+                    return digest;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First time this input is seen
+        } catch (IOException e) {
+            // Unreadable stamp: the content is hashed again and the stamp rewritten
+        }
+
+        MessageDigest sha = newDigest();
+        sha.update((ENTRY_FORMAT + '\0' + job.getVersion()).getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+        byte[] buffer = new byte[IO_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(job.getInputPath())) {
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                sha.update(buffer, 0, read);
+            }
+        }
+        String digest = HexFormat.of().formatHex(sha.digest());
+
+        if (attributes.lastModifiedTime().toMillis() < System.currentTimeMillis() - RACY_WINDOW_MILLIS) {
+            Path temp = Files.createTempFile(directory, "stamp", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                    out.writeLong(size);
+                    out.writeLong(modified);
+                    out.writeUTF(digest);
+                }
+                Files.move(temp, stamp, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Opens a cache entry as a lazy stream of pairs.
+     * 
+     * @param entry -> the entry file
+     * @param job -> the job whose results are stored in the entry
+     * @return The stream of pairs, closing the entry when closed
+     * @throws IOException if the entry cannot be opened
+     */
+    private Stream<Pair<K, V>> read(Path entry, AJob<K, V> job) throws IOException {
+        EntryReader pairs = new EntryReader(entry, job);
+        return StreamSupport.stream(pairs, false).onClose(pairs::close);
+    }
+
+    /**
+     * Decodes the pairs of an entry as they are consumed.
+     * 
+     * If the entry turns out to be corrupted while it is read, it is deleted and the rest of the pairs
+     * comes from executing the job (whose first pairs are the ones already served, since the entry was
+     * recorded from the same input by the same logic).
+     */
+    private final class EntryReader extends Spliterators.AbstractSpliterator<Pair<K, V>> {
+        private final Path entry;
+        private final AJob<K, V> job;
+        private final DataInputStream in;
+        private boolean checked; // Whether the header has been read
+        private long served; // Pairs served from the entry
+        private Stream<Pair<K, V>> executed; // The job, once the entry is found corrupted
+        private Iterator<Pair<K, V>> rest;
+
+        /**
+         * Constructor that opens an entry.
+         * 
+         * @param entry - The entry file
+         * @param job - The job whose results are stored in the entry
+         * @throws IOException if the entry cannot be opened
+         */
+        EntryReader(Path entry, AJob<K, V> job) throws IOException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.entry = entry;
+            this.job = job;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry), IO_BUFFER_SIZE));
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pair<K, V>> action) {
+            Pair<K, V> pair;
+            if (rest == null) {
+                try {
+                    pair = next();
+                    served += pair == null ? 0 : 1;
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Corrupted cache entry " + entry.getFileName() + " (" + e + "), executing " + job.getDescription());
+                    discard(entry);
+                    executed = job.execute();
+                    rest = executed.skip(served).iterator();
+                    pair = rest.hasNext() ? rest.next() : null;
+                }
+            } else {
+                pair = rest.hasNext() ? rest.next() : null;
+            }
+            if (pair == null) {
+                return false;
+            }
+            action.accept(pair);
+            return true;
+        }
+
+        /**
+         * Decodes the next pair of the entry.
+         * 
+         * @return The next pair, or null at the end of the entry
+         * @throws IOException if the entry is truncated or corrupted
+         */
+        private Pair<K, V> next() throws IOException {
+            if (!checked) {
+                if (in.readInt() != ENTRY_MAGIC) {
+                    throw new IOException("Not a cache entry.");
+                }
+                checked = true;
+            }
+            byte marker = in.readByte();
+            if (marker == END) {
+                return null;
+            }
+            if (marker != PAIR) {
+                throw new IOException("Corrupted pair marker: " + marker);
+            }
+            return new Pair<>(keyCodec.read(in), valueCodec.read(in));
+        }
+
+        /**
+         * Closes the entry, and the job if it had to be executed.
+         */
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                if (executed != null) {
+                    executed.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a job on a miss, writing its pairs to a new entry while they are consumed.
+     * 
+     * The entry is committed (atomically, through a temporary file) when the stream of the job is exhausted
+     * and its input has not changed since it was hashed; otherwise it is dropped when the stream is closed.
+     * 
+     * @param job -> the job to execute
+     * @param input -> the input of the job
+     * @param attributes -> the attributes of the input when it was hashed
+     * @param entry -> the entry file
+     * @return The stream of pairs of the job
+     */
+    private Stream<Pair<K, V>> record(AJob<K, V> job, Path input, BasicFileAttributes attributes, Path entry) {
+        Recorder recorder;
+        try {
+            recorder = new Recorder(entry);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return job.execute();
+        }
+
+        Stream<Pair<K, V>> executed;
+        try {
+            executed = job.execute();
+        } catch (RuntimeException e) {
+            recorder.discard();
+            throw e;
+        }
+        Spliterator<Pair<K, V>> source = executed.spliterator();
+        Spliterator<Pair<K, V>> pairs = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Pair<K, V>> action) {
+                if (source.tryAdvance(pair -> {
+                    recorder.write(pair);
+                    action.accept(pair);
+                })) {
+                    return true;
+                }
+                recorder.commit(input, attributes);
+                return false;
+            }
+        };
+
+        return StreamSupport.stream(pairs, false).onClose(() -> {
+            try {
+                executed.close();
+            } finally {
+                recorder.discard();
+            }
+        });
+    }
+
+    /**
+     * Writes the pairs of a job to a temporary file, moved in place of the entry once complete.
+     */
+    private final class Recorder {
+        private final Path entry;
+        private final Path temp;
+        private DataOutputStream out; // null once committed or failed
+
+        /**
+         * Constructor that creates the temporary file of an entry.
+         * 
+         * @param entry - The entry file to record
+         * @throws IOException if the temporary file cannot be created
+         */
+        Recorder(Path entry) throws IOException {
+            this.entry = entry;
+            this.temp = Files.createTempFile(directory, "entry", ".tmp");
+            try {
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), IO_BUFFER_SIZE));
+                out.writeInt(ENTRY_MAGIC);
+            } catch (IOException e) {
+                discard();
+                throw e;
+            }
+        }
+
+        /**
+         * Writes a pair; on failure the entry is dropped and the pairs keep flowing.
+         * 
+         * @param pair -> the pair to write
+         */
+        void write(Pair<K, V> pair) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeByte(PAIR);
+                keyCodec.write(out, pair.getKey());
+                valueCodec.write(out, pair.getValue());
+            } catch (IOException e) {
+                e.printStackTrace();
+                discard();
+            }
+        }
+
+        /**
+         * Completes the entry and moves it in place, unless the input changed while the job was reading it.
+         * 
+         * @param input -> the input of the job
+         * @param attributes -> the attributes of the input when it was hashed
+         */
+        void commit(Path input, BasicFileAttributes attributes) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.writeByte(END);
+                out.close();
+                out = null;
+                BasicFileAttributes current = Files.readAttributes(input, BasicFileAttributes.class);
+                if (current.size() == attributes.size() && current.lastModifiedTime().equals(attributes.lastModifiedTime())) {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    evict();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                discard();
+            }
+        }
+
+        /**
+         * Drops the temporary file, if it has not been moved in place.
+         */
+        void discard() {
+            try {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Marks a cache file as recently used.
+     * 
+     * @param file -> the entry or stamp
+     * @throws IOException if the file cannot be updated
+     */
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    /**
+     * Deletes a corrupted entry.
+     * 
+     * @param entry -> the entry file
+     */
+    private static void discard(Path entry) {
+        try {
+            Files.deleteIfExists(entry);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Computes the SHA-256 of a string.
+     * 
+     * @param text -> the string to hash
+     * @return The hexadecimal digest
+     */
+    private static String sha256(String text) {
+        return HexFormat.of().formatHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return A new SHA-256 digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries and stamps until the cache fits in its size bound.
+     * 
+     * @throws IOException if the cache directory cannot be listed
+     */
+    private synchronized void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(ENTRY_SUFFIX) || name.endsWith(STAMP_SUFFIX);
+            }).toList();
+        }
+
+        Map<Path, Long> sizes = new LinkedHashMap<>();
+        Map<Path, FileTime> lastUsed = new LinkedHashMap<>();
+        long total = 0;
+        for (Path entry : entries) {
+            try {
+                sizes.put(entry, Files.size(entry));
+                lastUsed.put(entry, Files.getLastModifiedTime(entry));
+                total += sizes.get(entry);
+            } catch (IOException e) {
+                // Entry evicted concurrently: ignored
+            }
+        }
+
+        List<Path> byAge = new ArrayList<>(sizes.keySet());
+        byAge.sort(Comparator.comparing(lastUsed::get));
+        for (Path entry : byAge) {
+            if (total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry);
+            total -= sizes.get(entry);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.framework.Columnar;
+
+/**
+ * Constants of the columnar result format, shared by ColumnarOutputStrategy and ColumnarReader.
+ * 
+ * File layout (big-endian):
+ * - header: magic (int), format version (int), flags (byte: 1 if value lists are stored);
+ * - blocks: for each block, its Deflate-compressed content;
+ * - footer index: number of blocks (int), then for each block its offset (long), compressed and
+ *   uncompressed sizes (int, int) and number of rows (int);
+ * - trailer: offset of the footer (long), magic (int).
+ * 
+ * Content of a block, before compression (each column stored contiguously, varints for all integers):
+ * - number of rows;
+ * - key column: the key of each row (key codec), stored directly since the keys of a result are distinct;
+ * - count column: the number of values of each row;
+ * - value column (if stored): dictionary size, distinct values (value codec), then the dictionary ids
+ *   of the values of each row, row after row.
+ * 
+ * @author Faxy
+ */
+final class ColumnarFormat {
+    static final int MAGIC = 0x434F4C52; // "COLR"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 9;
+    static final int TRAILER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 20;
+    static final byte WITH_VALUES = 1;
+
+    private ColumnarFormat() {
+    }
+}
@@ -0,0 +1,192 @@
+package com.framework.Columnar;
+
+import com.framework.Strategies.OutputStrategy;
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * Implements the OutputStrategy to output results in a compact binary columnar format, for any key and value types.
+ *
+ * Rows are gathered in blocks; within a block keys are written directly with their codec (they are distinct),
+ * values are dictionary-encoded (each distinct value is written once with its codec, and rows refer to it by a varint id),
+ * counts are varints, and each column is stored contiguously before the block is compressed. A footer indexes the blocks, so that a ColumnarReader can locate
+ * them without scanning the file. Value lists are optional: without them the file holds only keys and counts.
+ *
+ * See ColumnarFormat for the exact layout.
+ *
+ * @param <K> - Type of keys in the results
+ * @param <V> - Type of values in the results
+ *
+ * @author Faxy
+ */
+public class ColumnarOutputStrategy<K, V> implements OutputStrategy<K, V> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int BLOCK_ROWS = 4096; // Maximum rows per block
+    private static final long BLOCK_VALUES = 1 << 20; // Maximum values per block (bounds the size of a block)
+
+    private final String outputFilePath;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final boolean withValues;
+    private volatile long bytesWritten;
+
+    /**
+     * Index entry of a written block.
+     */
+    private record BlockInfo(long offset, int compressedSize, int uncompressedSize, int rows) {
+    }
+
+    /**
+     * Constructor to initialize output file path and the codecs.
+     *
+     * @param outputFilePath - Path to the output file
+     * @param keyCodec - Codec for the keys
+     * @param valueCodec - Codec for the values
+     * @param withValues - Whether the value lists are stored, or only their sizes
+     */
+    public ColumnarOutputStrategy(String outputFilePath, Codec<K> keyCodec, Codec<V> valueCodec, boolean withValues) {
+        this.outputFilePath = outputFilePath;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.withValues = withValues;
+    }
+
+    /**
+     * Outputs the given stream of pairs to a columnar file, block by block.
+     *
+     * @param result -> stream of pairs containing keys and associated list of values
+     */
+    @Override
+    public void output(Stream<Pair<K, List<V>>> result) {
+        bytesWritten = 0;
+        Deflater deflater = new Deflater();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Path.of(outputFilePath)), IO_BUFFER_SIZE))) {
+            out.writeInt(ColumnarFormat.MAGIC);
+            out.writeInt(ColumnarFormat.FORMAT_VERSION);
+            out.writeByte(withValues ? ColumnarFormat.WITH_VALUES : 0);
+            bytesWritten = ColumnarFormat.HEADER_SIZE;
+
+            List<BlockInfo> blocks = new ArrayList<>();
+            List<Pair<K, List<V>>> block = new ArrayList<>();
+            long[] blockValues = {0};
+            result.forEach(pair -> {
+                block.add(pair);
+                blockValues[0] += pair.getValue().size();
+                if (block.size() == BLOCK_ROWS || (withValues && blockValues[0] >= BLOCK_VALUES)) {
+                    blocks.add(writeBlock(out, block, deflater));
+                    block.clear();
+                    blockValues[0] = 0;
+                }
+            });
+            if (!block.isEmpty()) {
+                blocks.add(writeBlock(out, block, deflater));
+            }
+
+            // Footer index and trailer
+            long footerOffset = bytesWritten;
+            out.writeInt(blocks.size());
+            for (BlockInfo info : blocks) {
+                out.writeLong(info.offset());
+                out.writeInt(info.compressedSize());
+                out.writeInt(info.uncompressedSize());
+                out.writeInt(info.rows());
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(ColumnarFormat.MAGIC);
+            bytesWritten = footerOffset + Integer.BYTES + (long) blocks.size() * ColumnarFormat.INDEX_ENTRY_SIZE + ColumnarFormat.TRAILER_SIZE;
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Encodes, compresses and writes a block.
+     *
+     * @param out -> the file output
+     * @param rows -> the rows of the block
+     * @param deflater -> the compressor (reset for each block)
+     * @return The index entry of the block
+     */
+    private BlockInfo writeBlock(DataOutputStream out, List<Pair<K, List<V>>> rows, Deflater deflater) {
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            DataOutputStream columns = new DataOutputStream(content);
+            Varint.write(columns, rows.size());
+
+            // Key column
+            for (Pair<K, List<V>> row : rows) {
+                keyCodec.write(columns, row.getKey());
+            }
+
+            // Count column
+            for (Pair<K, List<V>> row : rows) {
+                Varint.write(columns, row.getValue().size());
+            }
+
+            // Value column
+            if (withValues) {
+                Map<V, Integer> valueIds = new HashMap<>();
+                List<V> values = new ArrayList<>();
+                for (Pair<K, List<V>> row : rows) {
+                    for (V value : row.getValue()) {
+                        if (valueIds.putIfAbsent(value, values.size()) == null) {
+                            values.add(value);
+                        }
+                    }
+                }
+                Varint.write(columns, values.size());
+                for (V value : values) {
+                    valueCodec.write(columns, value);
+                }
+                for (Pair<K, List<V>> row : rows) {
+                    for (V value : row.getValue()) {
+                        Varint.write(columns, valueIds.get(value));
+                    }
+                }
+            }
+
+            byte[] uncompressed = content.toByteArray();
+            deflater.reset();
+            deflater.setInput(uncompressed);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, uncompressed.length / 4));
+            byte[] chunk = new byte[IO_BUFFER_SIZE];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+
+            long offset = bytesWritten;
+            compressed.writeTo(out);
+            bytesWritten += compressed.size();
+            return new BlockInfo(offset, compressed.size(), uncompressed.length, rows.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return The number of bytes written
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
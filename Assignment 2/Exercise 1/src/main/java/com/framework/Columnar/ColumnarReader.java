@@ -0,0 +1,270 @@
+package com.framework.Columnar;
+
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming reader of the files written by ColumnarOutputStrategy.
+ *
+ * Opening a file reads only its header and footer index; blocks are then read, decompressed and decoded one at a time
+ * while the returned stream is consumed, so memory is bounded by the size of a block whatever the size of the file.
+ * Blocks are read with positional reads, so that several streams of the same reader may be consumed concurrently.
+ * Sizes, counts and ids read from the file are checked before use: a corrupted file fails with an IOException
+ * (wrapped in an UncheckedIOException while streaming), never with an allocation or indexing error.
+ *
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ *
+ * @author Faxy
+ */
+public class ColumnarReader<K, V> implements AutoCloseable {
+    private static final long MAX_DEFLATE_RATIO = 1032; // Deflate never expands a byte into more than 1032 bytes
+
+    private final FileChannel channel;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final boolean withValues;
+    private final long[] offsets;
+    private final int[] compressedSizes;
+    private final int[] uncompressedSizes;
+    private final int[] blockRows;
+    private final long rows;
+
+    private ColumnarReader(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this.channel = channel;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+
+        long size = channel.size();
+        if (size < ColumnarFormat.HEADER_SIZE + Integer.BYTES + ColumnarFormat.TRAILER_SIZE) {
+            throw new IOException("Not a columnar result file.");
+        }
+        ByteBuffer header = read(0, ColumnarFormat.HEADER_SIZE);
+        ByteBuffer trailer = read(size - ColumnarFormat.TRAILER_SIZE, ColumnarFormat.TRAILER_SIZE);
+        if (header.getInt() != ColumnarFormat.MAGIC || trailer.getInt(8) != ColumnarFormat.MAGIC) {
+            throw new IOException("Not a columnar result file.");
+        }
+        int version = header.getInt();
+        if (version != ColumnarFormat.FORMAT_VERSION) {
+            throw new IOException("Unsupported columnar format version " + version + ".");
+        }
+        this.withValues = header.get() == ColumnarFormat.WITH_VALUES;
+
+        // The footer index must exactly fill the space between the blocks and the trailer
+        long footerOffset = trailer.getLong(0);
+        long footerEnd = size - ColumnarFormat.TRAILER_SIZE;
+        if (footerOffset < ColumnarFormat.HEADER_SIZE || footerOffset > footerEnd - Integer.BYTES) {
+            throw new IOException("Corrupted footer index.");
+        }
+        int blocks = read(footerOffset, Integer.BYTES).getInt();
+        if (blocks < 0 || footerOffset + Integer.BYTES + (long) blocks * ColumnarFormat.INDEX_ENTRY_SIZE != footerEnd) {
+            throw new IOException("Corrupted footer index.");
+        }
+        ByteBuffer index = read(footerOffset + Integer.BYTES, blocks * ColumnarFormat.INDEX_ENTRY_SIZE);
+        this.offsets = new long[blocks];
+        this.compressedSizes = new int[blocks];
+        this.uncompressedSizes = new int[blocks];
+        this.blockRows = new int[blocks];
+        long totalRows = 0;
+        for (int i = 0; i < blocks; i++) {
+            offsets[i] = index.getLong();
+            compressedSizes[i] = index.getInt();
+            uncompressedSizes[i] = index.getInt();
+            blockRows[i] = index.getInt();
+            if (offsets[i] < ColumnarFormat.HEADER_SIZE || compressedSizes[i] < 0 || uncompressedSizes[i] < 0
+                    || uncompressedSizes[i] > MAX_DEFLATE_RATIO * compressedSizes[i]
+                    || blockRows[i] < 0 || offsets[i] + compressedSizes[i] > footerOffset) {
+                throw corrupted(i, null);
+            }
+            totalRows += blockRows[i];
+        }
+        this.rows = totalRows;
+    }
+
+    /**
+     * Opens a columnar file.
+     *
+     * @param <K> - Type of keys
+     * @param <V> - Type of values
+     * @param path -> path of the file
+     * @param keyCodec -> codec for the keys (the one used to write the file)
+     * @param valueCodec -> codec for the values (the one used to write the file)
+     * @return The opened reader
+     * @throws IOException if the file cannot be read or is not a columnar file
+     */
+    public static <K, V> ColumnarReader<K, V> open(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ColumnarReader<>(channel, keyCodec, valueCodec);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of rows (pairs) in the file
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Whether the file stores the value lists, or only their sizes
+     */
+    public boolean hasValues() {
+        return withValues;
+    }
+
+    /**
+     * Streams the pairs of the file, in the order they were written.
+     *
+     * @return A lazy stream of pairs containing keys and associated list of values
+     *         (empty lists if the file does not store them)
+     */
+    public Stream<Pair<K, List<V>>> stream() {
+        return IntStream.range(0, offsets.length).mapToObj(block -> decode(block, true)).flatMap(List::stream);
+    }
+
+    /**
+     * Streams the keys of the file with the number of their values, without decoding the values.
+     *
+     * @return A lazy stream of pairs containing keys and their count
+     */
+    public Stream<Pair<K, Long>> counts() {
+        return IntStream.range(0, offsets.length).mapToObj(block -> decode(block, false)).flatMap(List::stream)
+            .map(pair -> new Pair<>(pair.getKey(), (long) pair.getValue().size()));
+    }
+
+    /**
+     * Closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads and decodes a block.
+     *
+     * @param block -> index of the block
+     * @param values -> whether to decode the values (otherwise lists of nulls of the right size are returned)
+     * @return The rows of the block
+     */
+    private List<Pair<K, List<V>>> decode(int block, boolean values) {
+        ByteBuffer compressed;
+        try {
+            compressed = read(offsets[block], compressedSizes[block]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // The content is in memory from here: any failure to decode it means that the block is corrupted
+        try {
+            byte[] content = new byte[uncompressedSizes[block]];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                int inflated = 0;
+                while (inflated < content.length && !inflater.finished()) {
+                    int read = inflater.inflate(content, inflated, content.length - inflated);
+                    if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated block."); // No further progress is possible
+                    }
+                    inflated += read;
+                }
+                if (inflated != content.length) {
+                    throw new IOException("Block shorter than its index entry.");
+                }
+            } finally {
+                inflater.end();
+            }
+
+            ByteArrayInputStream bytes = new ByteArrayInputStream(content);
+            DataInputStream columns = new DataInputStream(bytes);
+            int rowCount = Varint.readInt(columns);
+            if (rowCount != blockRows[block] || rowCount > bytes.available()) {
+                throw new IOException("Row count " + rowCount + " does not match the block."); // Every count takes a byte or more
+            }
+
+            List<K> keys = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                keys.add(keyCodec.read(columns));
+            }
+            int[] counts = new int[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                counts[i] = Varint.readInt(columns);
+            }
+
+            List<Pair<K, List<V>>> rows = new ArrayList<>(rowCount);
+            if (!values || !withValues) {
+                for (int i = 0; i < rowCount; i++) {
+                    rows.add(new Pair<>(keys.get(i), values ? List.of() : Collections.nCopies(counts[i], null)));
+                }
+                return rows;
+            }
+
+            int dictionarySize = Varint.readInt(columns);
+            if (dictionarySize > bytes.available()) {
+                throw new IOException("Dictionary size " + dictionarySize + " exceeds the block."); // Every value takes a byte or more
+            }
+            List<V> dictionary = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary.add(valueCodec.read(columns));
+            }
+            for (int i = 0; i < rowCount; i++) {
+                if (counts[i] > bytes.available()) {
+                    throw new IOException("Value count " + counts[i] + " exceeds the block."); // Every id takes a byte or more
+                }
+                List<V> rowValues = new ArrayList<>(counts[i]);
+                for (int j = 0; j < counts[i]; j++) {
+                    int id = Varint.readInt(columns);
+                    if (id >= dictionary.size()) {
+                        throw new IOException("Value id " + id + " out of the dictionary.");
+                    }
+                    rowValues.add(dictionary.get(id));
+                }
+                rows.add(new Pair<>(keys.get(i), rowValues));
+            }
+            return rows;
+        } catch (IOException | DataFormatException e) {
+            throw new UncheckedIOException(corrupted(block, e));
+        }
+    }
+
+    /**
+     * Builds the error reported for a block that cannot be decoded.
+     */
+    private static IOException corrupted(int block, Throwable cause) {
+        return new IOException("Corrupted block " + block + ".", cause);
+    }
+
+    /**
+     * Reads a range of the file with positional reads.
+     */
+    private ByteBuffer read(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+        return buffer.flip();
+    }
+}
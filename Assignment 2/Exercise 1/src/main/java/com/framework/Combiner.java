@@ -0,0 +1,112 @@
+package com.framework;
+
+import com.framework.Sketches.HyperLogLog;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Describes how the values associated with a key are folded into a single accumulator.
+ * 
+ * The combine operation must be associative, since partial accumulators are built
+ * independently inside each job and merged afterwards in an unspecified grouping.
+ * Accumulators are owned by the scheduler, so add and combine may update their first argument in place.
+ * 
+ * @param <V> - Type of values
+ * @param <A> - Type of accumulators
+ * 
+ * @author Faxy
+ */
+public interface Combiner<V, A> {
+
+    /**
+     * Lifts a single value into an accumulator.
+     * 
+     * @param value -> the value to lift
+     * @return An accumulator holding only the given value
+     */
+    A lift(V value);
+
+    /**
+     * Merges two accumulators (associative).
+     * 
+     * @param left -> the first accumulator
+     * @param right -> the second accumulator
+     * @return The accumulator holding the values of both arguments
+     */
+    A combine(A left, A right);
+
+    /**
+     * Folds a value into an accumulator.
+     * 
+     * The default lifts the value and combines it; mutable accumulators should override it to avoid the allocation.
+     * 
+     * @param accumulator -> the accumulator
+     * @param value -> the value to fold
+     * @return The accumulator holding also the given value
+     */
+    default A add(A accumulator, V value) {
+        return combine(accumulator, lift(value));
+    }
+
+    /**
+     * Returns a combiner that counts the values associated with each key.
+     * 
+     * @param <V> - Type of values
+     * @return A counting combiner
+     */
+    static <V> Combiner<V, Long> counting() {
+        return new Combiner<>() {
+            @Override
+            public Long lift(V value) {
+                return 1L;
+            }
+
+            @Override
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        };
+    }
+
+    /**
+     * Returns a combiner that estimates the number of distinct values associated with each key,
+     * hashing the values by their hashCode (see distinct(int, ToLongFunction) for a 64-bit hash).
+     * 
+     * @param <V> - Type of values
+     * @param precision -> precision of the HyperLogLog sketches (2^precision bytes per key at most)
+     * @return A distinct-counting combiner
+     */
+    static <V> Combiner<V, HyperLogLog> distinct(int precision) {
+        return distinct(precision, value -> HyperLogLog.hash(value.hashCode()));
+    }
+
+    /**
+     * Returns a combiner that estimates the number of distinct values associated with each key.
+     * 
+     * Each key gets a HyperLogLog sketch, exact for few values and of bounded size for many,
+     * so memory does not grow with the number of values.
+     * 
+     * @param <V> - Type of values
+     * @param precision -> precision of the HyperLogLog sketches (2^precision bytes per key at most)
+     * @param hash -> well mixed 64-bit hash of a value
+     * @return A distinct-counting combiner
+     */
+    static <V> Combiner<V, HyperLogLog> distinct(int precision, ToLongFunction<? super V> hash) {
+        return new Combiner<>() {
+            @Override
+            public HyperLogLog lift(V value) {
+                return new HyperLogLog(precision).add(hash.applyAsLong(value));
+            }
+
+            @Override
+            public HyperLogLog combine(HyperLogLog left, HyperLogLog right) {
+                return left.merge(right);
+            }
+
+            @Override
+            public HyperLogLog add(HyperLogLog accumulator, V value) {
+                return accumulator.add(hash.applyAsLong(value));
+            }
+        };
+    }
+}
@@ -0,0 +1,588 @@
+package com.framework.Distributed;
+
+import com.framework.AJob;
+import com.framework.Strategies.EmitStrategy;
+import com.framework.Strategies.OutputStrategy;
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Abstract class that defines the multi-process variant of the job scheduling framework.
+ *
+ * The scheduler acts as a coordinator: emitted jobs are grouped into shards and sent to worker JVMs started
+ * on the same machine, which execute them, pre-group their pairs by key and send them back split into partitions.
+ * Partitions are spilled to disk as shards complete, and the output stage reads them back one at a time,
+ * so the coordinator holds one partition being merged (up to about twice its size, see merge) and one shard
+ * result per worker in memory, never the whole result.
+ *
+ * Fault tolerance is per shard: a shard whose worker crashes or times out, or whose jobs fail, is retried (on a new worker
+ * if the previous one died) up to a maximum number of attempts; results are only kept once a shard has fully
+ * completed, so a retried shard is never counted twice. A shard failing every attempt fails the run.
+ *
+ * Jobs are sent to the workers with Java serialization: they must be Serializable and describe their input
+ * (e.g. a path) rather than hold it. Keys and values travel with the codecs of a WireFormat.
+ * The output is deterministic: the groups of a partition are merged in shard order, whatever the scheduling.
+ *
+ * Emit and output are hot spots (as in JobScheduler), while main() is a frozen spot.
+ *
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ *
+ * @author Faxy
+ */
+public abstract class DistributedJobScheduler<K, V> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000; // Time for a worker JVM to start and connect back
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 10_000; // Time for a connection to present its token
+    private static final int TOKEN_BYTES = 16;
+    private static final SecureRandom TOKENS = new SecureRandom();
+
+    // Hot spots
+    private EmitStrategy<K, V> emitStrategy; // Strategy for emitting jobs
+    private OutputStrategy<K, V> outputStrategy; // Strategy for outputting results
+
+    // Cluster configuration
+    private final String wireFormatClassName;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int partitions = 16;
+    private int shardSize = 4;
+    private int maxAttempts = 3;
+    private int shardTimeoutMillis = 600_000;
+    private List<String> workerJvmOptions = List.of();
+    private String jobFilter = Protocol.DEFAULT_JOB_FILTER;
+
+    /**
+     * Constructor that sets the wire format shared with the workers.
+     *
+     * @param wireFormatClass - Class of the wire format, instantiated by the coordinator and by every worker
+     */
+    protected DistributedJobScheduler(Class<? extends WireFormat<K, V>> wireFormatClass) {
+        WireFormat<K, V> wireFormat;
+        try {
+            wireFormat = wireFormatClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("The wire format needs a public no-argument constructor.", e);
+        }
+        this.wireFormatClassName = wireFormatClass.getName();
+        this.keyCodec = wireFormat.keyCodec();
+        this.valueCodec = wireFormat.valueCodec();
+    }
+
+    /**
+     * Sets the strategy for emitting jobs (hot spot).
+     *
+     * @param emitStrategy -> strategy to emit jobs (which must be Serializable)
+     */
+    public void setEmitStrategy(EmitStrategy<K, V> emitStrategy) {
+        this.emitStrategy = emitStrategy;
+    }
+
+    /**
+     * Sets the strategy for outputting results (hot spot).
+     *
+     * @param outputStrategy -> strategy to output results
+     */
+    public void setOutputStrategy(OutputStrategy<K, V> outputStrategy) {
+        this.outputStrategy = outputStrategy;
+    }
+
+    /**
+     * Sets the number of worker processes (default: number of available cores).
+     *
+     * @param workers -> number of worker JVMs
+     */
+    public void setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("There must be at least one worker.");
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Sets the number of partitions of the keys (default: 16).
+     *
+     * More partitions mean smaller groups held in memory by the output stage.
+     *
+     * @param partitions -> number of partitions
+     */
+    public void setPartitions(int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("There must be at least one partition.");
+        }
+        this.partitions = partitions;
+    }
+
+    /**
+     * Sets the number of jobs sent to a worker at once (default: 4).
+     *
+     * Larger shards pre-group more pairs in the workers, smaller ones balance the load and lose less work on a crash.
+     *
+     * @param shardSize -> number of jobs per shard
+     */
+    public void setShardSize(int shardSize) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("A shard must contain at least one job.");
+        }
+        this.shardSize = shardSize;
+    }
+
+    /**
+     * Sets how many times a shard is attempted before the run fails (default: 3).
+     *
+     * @param maxAttempts -> maximum number of attempts per shard
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("A shard must be attempted at least once.");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Sets how long the coordinator waits for the result of a shard (default: 10 minutes).
+     *
+     * A worker that stays silent longer (e.g. stuck in a loop or thrashing its heap) is killed,
+     * and its shard is retried like the shard of a worker that died.
+     *
+     * @param shardTimeoutMillis -> maximum time without a reply from the worker, in milliseconds (0 for no limit)
+     */
+    public void setShardTimeoutMillis(int shardTimeoutMillis) {
+        if (shardTimeoutMillis < 0) {
+            throw new IllegalArgumentException("The shard timeout cannot be negative.");
+        }
+        this.shardTimeoutMillis = shardTimeoutMillis;
+    }
+
+    /**
+     * Sets the options of the worker JVMs (default: none), e.g. a heap size.
+     *
+     * @param workerJvmOptions -> options passed to the java launcher before the worker class
+     */
+    public void setWorkerJvmOptions(List<String> workerJvmOptions) {
+        this.workerJvmOptions = List.copyOf(workerJvmOptions);
+    }
+
+    /**
+     * Sets the classes the workers accept when deserializing jobs (default: "com.**;java.**;!*").
+     *
+     * @param jobFilter -> an ObjectInputFilter pattern, which must accept the classes of the jobs and of their fields
+     */
+    public void setJobFilter(String jobFilter) {
+        ObjectInputFilter.Config.createFilter(jobFilter); // Validating the pattern before any worker is started
+        this.jobFilter = jobFilter;
+    }
+
+    /**
+     * Main method to run the job scheduler.
+     *
+     * emit -> shards -> workers (compute and pre-group) -> partitions spilled to disk -> merge -> output
+     *
+     * This method is a frozen spot of the framework.
+     *
+     * @throws IllegalStateException if a shard fails in every attempt
+     */
+    public void main() {
+        Path spillDirectory = null;
+        try {
+            List<byte[]> shards = shard();
+            spillDirectory = Files.createTempDirectory("distributed-");
+            Path[] partitionFiles = new Path[partitions];
+            for (int p = 0; p < partitions; p++) {
+                partitionFiles[p] = spillDirectory.resolve("partition-" + p);
+            }
+
+            runShards(shards, partitionFiles);
+            outputStrategy.output(IntStream.range(0, partitions).mapToObj(p -> merge(partitionFiles[p])).flatMap(List::stream));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            delete(spillDirectory);
+        }
+    }
+
+    /**
+     * Emits the jobs and serializes them into shards.
+     *
+     * @return The serialized shards
+     * @throws IOException if a job is not Serializable
+     */
+    private List<byte[]> shard() throws IOException {
+        List<byte[]> shards = new ArrayList<>();
+        List<AJob<K, V>> shard = new ArrayList<>(shardSize);
+        try (Stream<AJob<K, V>> jobs = emitStrategy.emit()) {
+            for (AJob<K, V> job : (Iterable<AJob<K, V>>) jobs::iterator) {
+                shard.add(job);
+                if (shard.size() == shardSize) {
+                    shards.add(Protocol.serialize(shard));
+                    shard.clear();
+                }
+            }
+        }
+        if (!shard.isEmpty()) {
+            shards.add(Protocol.serialize(shard));
+        }
+        return shards;
+    }
+
+    /**
+     * Runs all the shards on the workers, appending the completed ones to the partition files.
+     *
+     * Each worker is driven by its own coordinator thread, which pulls shards from a shared queue
+     * and respawns its worker if it dies.
+     *
+     * @param shards -> the serialized shards
+     * @param partitionFiles -> the files receiving the groups of each partition
+     * @throws IOException if the partition files cannot be written or workers cannot be started
+     */
+    private void runShards(List<byte[]> shards, Path[] partitionFiles) throws IOException {
+        BlockingQueue<Integer> pending = new LinkedBlockingQueue<>();
+        IntStream.range(0, shards.size()).forEach(pending::add);
+        int[] attempts = new int[shards.size()];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        DataOutputStream[] spills = new DataOutputStream[partitions];
+        ExecutorService coordinators = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, shards.size())));
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            for (int p = 0; p < partitions; p++) {
+                spills[p] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partitionFiles[p]), IO_BUFFER_SIZE));
+            }
+
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < Math.min(workers, shards.size()); i++) {
+                running.add(coordinators.submit(() -> {
+                    WorkerConnection worker = null;
+                    try {
+                        while (completed.get() < shards.size() && failure.get() == null) {
+                            Integer shard = pending.poll(100, TimeUnit.MILLISECONDS);
+                            if (shard == null) {
+                                continue; // Waiting for the shards of the other workers, which may still be retried
+                            }
+                            byte[][] result;
+                            try {
+                                if (worker == null) {
+                                    worker = spawn(server);
+                                }
+                                result = worker.execute(shard, shards.get(shard));
+                            } catch (IOException e) {
+                                // The worker died, hung or could not start: the shard is retried on a new one
+                                if (worker != null) {
+                                    worker.kill();
+                                    worker = null;
+                                }
+                                retry(shard, String.valueOf(e), attempts, pending, failure);
+                                continue;
+                            }
+                            if (result == null) {
+                                retry(shard, worker.error, attempts, pending, failure);
+                                continue;
+                            }
+
+                            synchronized (spills) {
+                                for (int p = 0; p < partitions; p++) {
+                                    spills[p].writeInt(shard);
+                                    Protocol.writeBytes(spills[p], result[p]);
+                                }
+                            }
+                            completed.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        // The spill files cannot be written: stopping the other coordinator threads too
+                        failure.compareAndSet(null, new UncheckedIOException(e));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        if (worker != null) {
+                            worker.shutdown();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> coordinator : running) {
+                coordinator.get();
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the shards.", e);
+        } finally {
+            coordinators.shutdownNow();
+            for (DataOutputStream spill : spills) {
+                if (spill != null) {
+                    spill.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts a failed shard back in the queue, or fails the run once it has used all its attempts.
+     */
+    private void retry(int shard, String error, int[] attempts, BlockingQueue<Integer> pending, AtomicReference<RuntimeException> failure) {
+        int attempt;
+        synchronized (attempts) {
+            attempt = ++attempts[shard];
+        }
+        if (attempt >= maxAttempts) {
+            failure.compareAndSet(null, new IllegalStateException("Shard " + shard + " failed after " + attempt + " attempts: " + error));
+        } else {
+            System.err.println("Retrying shard " + shard + " (attempt " + (attempt + 1) + "): " + error);
+            pending.add(shard);
+        }
+    }
+
+    /**
+     * Starts a worker JVM and waits for it to connect back.
+     *
+     * The worker is given a random token in its environment, and must present it first: any other local
+     * process may connect to the port, so only the connection presenting the token is taken as the worker.
+     * The token is kept off the command line, which any local user can list.
+     * Synchronized, so that a single worker is waited for at a time.
+     *
+     * @param server -> the socket the workers connect to
+     * @return The connection to the new worker
+     * @throws IOException if the worker cannot be started or does not connect in time
+     */
+    private synchronized WorkerConnection spawn(ServerSocket server) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Worker.class.getName());
+        command.add(Integer.toString(server.getLocalPort()));
+        command.add(wireFormatClassName);
+        command.add(Integer.toString(partitions));
+        command.add(jobFilter);
+        byte[] token = new byte[TOKEN_BYTES];
+        TOKENS.nextBytes(token);
+        String hexToken = HexFormat.of().formatHex(token);
+
+        ProcessBuilder builder = new ProcessBuilder(command).inheritIO();
+        builder.environment().put(Protocol.TOKEN_VARIABLE, hexToken);
+        Process process = builder.start();
+        try {
+            return new WorkerConnection(process, accept(server, hexToken));
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    /**
+     * Accepts connections until one presents the token of the started worker, closing the others.
+     *
+     * @param server -> the socket the workers connect to
+     * @param token -> the token given to the worker
+     * @return The connection of the worker
+     * @throws IOException if the worker does not connect in time
+     */
+    private static Socket accept(ServerSocket server, String token) throws IOException {
+        byte[] expected = token.getBytes(StandardCharsets.UTF_8);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MILLIS);
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("The worker did not connect within " + CONNECT_TIMEOUT_MILLIS + " ms.");
+            }
+            server.setSoTimeout((int) remaining);
+            Socket socket = server.accept();
+            try {
+                socket.setSoTimeout((int) Math.min(HANDSHAKE_TIMEOUT_MILLIS, remaining));
+                byte[] presented = new DataInputStream(socket.getInputStream()).readUTF().getBytes(StandardCharsets.UTF_8);
+                if (MessageDigest.isEqual(presented, expected)) {
+                    return socket;
+                }
+            } catch (IOException e) {
+                // Not our worker: the connection is dropped
+            }
+            socket.close();
+        }
+    }
+
+    /**
+     * Reads a partition file back and merges the groups of its shards, in shard order.
+     *
+     * The encoded segments of the shards are read first, to be sorted: at the start of the decoding, the partition
+     * is held twice (encoded and decoded groups). Each segment is released once decoded, so the peak is about
+     * twice the partition size, dropping to the decoded groups alone.
+     *
+     * @param partitionFile -> the file of the partition
+     * @return The groups of the partition
+     */
+    private List<Pair<K, List<V>>> merge(Path partitionFile) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(partitionFile), IO_BUFFER_SIZE))) {
+            List<Map.Entry<Integer, byte[]>> segments = new ArrayList<>();
+            while (true) {
+                int shard;
+                try {
+                    shard = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                segments.add(Map.entry(shard, Protocol.readBytes(in)));
+            }
+            segments.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+
+            Map<K, List<V>> groups = new LinkedHashMap<>();
+            for (int s = 0; s < segments.size(); s++) {
+                DataInputStream groupsIn = new DataInputStream(new ByteArrayInputStream(segments.get(s).getValue()));
+                segments.set(s, null); // Released as soon as its bytes are being decoded
+                for (int g = groupsIn.readInt(); g > 0; g--) {
+                    List<V> values = groups.computeIfAbsent(keyCodec.read(groupsIn), key -> new ArrayList<>());
+                    for (int v = groupsIn.readInt(); v > 0; v--) {
+                        values.add(valueCodec.read(groupsIn));
+                    }
+                }
+            }
+
+            List<Pair<K, List<V>>> merged = new ArrayList<>(groups.size());
+            groups.forEach((key, values) -> merged.add(new Pair<>(key, values)));
+            return merged;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the spill directory and its partition files.
+     */
+    private static void delete(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.toFile().delete();
+    }
+
+    /**
+     * Connection of the coordinator to a worker process.
+     */
+    private final class WorkerConnection {
+        private final Process process;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private String error; // Message of the last failed shard
+
+        WorkerConnection(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            socket.setSoTimeout(shardTimeoutMillis); // A hung worker is treated as a dead one
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), IO_BUFFER_SIZE));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE));
+        }
+
+        /**
+         * Sends a shard to the worker and waits for its result.
+         *
+         * @param shard -> index of the shard
+         * @param jobs -> the serialized jobs of the shard
+         * @return The encoded groups of each partition, or null if the jobs failed (see error)
+         * @throws IOException if the worker died or did not reply within the shard timeout
+         */
+        byte[][] execute(int shard, byte[] jobs) throws IOException {
+            out.writeByte(Protocol.SHARD);
+            out.writeInt(shard);
+            Protocol.writeBytes(out, jobs);
+            out.flush();
+
+            byte reply;
+            try {
+                reply = in.readByte();
+            } catch (SocketTimeoutException e) {
+                throw new IOException("No reply from the worker within " + shardTimeoutMillis + " ms.", e);
+            }
+            if (reply == Protocol.FAILED) {
+                error = in.readUTF();
+                return null;
+            }
+            byte[][] result = new byte[partitions][];
+            for (int p = 0; p < partitions; p++) {
+                result[p] = Protocol.readBytes(in);
+            }
+            return result;
+        }
+
+        /**
+         * Asks the worker to exit, killing it if it does not.
+         */
+        void shutdown() {
+            try {
+                out.writeByte(Protocol.SHUTDOWN);
+                out.flush();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    kill();
+                }
+                socket.close();
+            } catch (IOException e) {
+                kill();
+            } catch (InterruptedException e) {
+                kill();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void kill() {
+            process.destroyForcibly();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.framework.Distributed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Messages exchanged between the coordinator and a worker over a local socket.
+ * 
+ * Worker -> coordinator, once connected: the token given to the worker in its environment (UTF string).
+ * Coordinator -> worker: SHARD, shard index (int), size and bytes of the serialized list of jobs; or SHUTDOWN.
+ * Worker -> coordinator: OK followed, for each partition, by the size and bytes of its groups
+ * (number of groups, then key, number of values and values of each group, with the codecs of the WireFormat);
+ * or FAILED followed by an error message.
+ * 
+ * @author Faxy
+ */
+final class Protocol {
+    static final byte SHARD = 1;
+    static final byte SHUTDOWN = 2;
+    static final byte OK = 3;
+    static final byte FAILED = 4;
+
+    // Jobs may only be made of application and JDK classes, unless the scheduler says otherwise
+    static final String DEFAULT_JOB_FILTER = "com.**;java.**;!*";
+
+    // Environment variable holding the token of a worker, which other users cannot read (unlike its command line)
+    static final String TOKEN_VARIABLE = "JOB_WORKER_TOKEN";
+
+    private Protocol() {
+    }
+
+    static byte[] serialize(List<?> jobs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(jobs);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<?> deserialize(byte[] bytes, ObjectInputFilter filter) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(filter);
+            return (List<?>) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidClassException("Cannot read the jobs of a shard: " + e.getMessage());
+        }
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Chooses the partition of a key from its encoding, so that every JVM agrees on it.
+     * 
+     * @param encodedKey -> the key, encoded with its codec
+     * @param partitions -> number of partitions
+     * @return The partition index
+     */
+    static int partition(byte[] encodedKey, int partitions) {
+        int h = Arrays.hashCode(encodedKey) * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), partitions);
+    }
+}
@@ -0,0 +1,28 @@
+package com.framework.Distributed;
+
+import com.framework.Utils.Codec;
+
+/**
+ * Codecs used to ship the results of the jobs from the workers to the coordinator.
+ * 
+ * Implementations are instantiated by name in every worker JVM, so they must be public classes
+ * with a public no-argument constructor. Codecs must be deterministic: equal keys must be encoded
+ * to the same bytes, since keys are partitioned by their encoding.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public interface WireFormat<K, V> {
+
+    /**
+     * @return The codec for the keys
+     */
+    Codec<K> keyCodec();
+
+    /**
+     * @return The codec for the values
+     */
+    Codec<V> valueCodec();
+}
@@ -0,0 +1,151 @@
+package com.framework.Distributed;
+
+import com.framework.AJob;
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Worker process of the DistributedJobScheduler.
+ *
+ * Connects back to the coordinator and presents the token found in its environment,
+ * then executes the shards it receives until told to shut down.
+ * The pairs of a shard are grouped by key in the worker (pre-aggregation), split into partitions by key,
+ * and sent back encoded, one partition after the other. A job failure is reported to the coordinator,
+ * which may retry the shard; the worker itself stays available.
+ *
+ * Usage (started by the coordinator, with the token in the JOB_WORKER_TOKEN environment variable):
+ * java com.framework.Distributed.Worker <port> <wire-format-class> <partitions> <job-filter>
+ *
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ *
+ * @author Faxy
+ */
+public final class Worker<K, V> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final int partitions;
+    private final ObjectInputFilter jobFilter;
+
+    private Worker(WireFormat<K, V> wireFormat, int partitions, ObjectInputFilter jobFilter) {
+        this.keyCodec = wireFormat.keyCodec();
+        this.valueCodec = wireFormat.valueCodec();
+        this.partitions = partitions;
+        this.jobFilter = jobFilter;
+    }
+
+    /**
+     * Serves the coordinator until it asks to shut down or the connection is lost.
+     *
+     * @param socket -> the connection to the coordinator
+     * @param token -> the token identifying this worker to the coordinator
+     * @throws IOException if the connection fails
+     */
+    private void serve(Socket socket, String token) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), IO_BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE));
+        out.writeUTF(token);
+        out.flush();
+        while (in.readByte() == Protocol.SHARD) {
+            in.readInt(); // Shard index, only meaningful to the coordinator
+            byte[] jobs = Protocol.readBytes(in);
+
+            List<byte[]> encoded;
+            try {
+                encoded = execute(Protocol.deserialize(jobs, jobFilter));
+            } catch (IOException | RuntimeException e) {
+                out.writeByte(Protocol.FAILED);
+                out.writeUTF(String.valueOf(e));
+                out.flush();
+                continue;
+            }
+            out.writeByte(Protocol.OK);
+            for (byte[] partition : encoded) {
+                Protocol.writeBytes(out, partition);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Executes the jobs of a shard and encodes their grouped pairs, partition by partition.
+     *
+     * @param jobs -> the jobs of the shard
+     * @return The encoded groups of each partition
+     * @throws IOException if the groups cannot be encoded
+     */
+    @SuppressWarnings("unchecked")
+    private List<byte[]> execute(List<?> jobs) throws IOException {
+        Map<K, List<V>> groups = new LinkedHashMap<>();
+        for (Object job : jobs) {
+            try (Stream<Pair<K, V>> pairs = ((AJob<K, V>) job).execute()) {
+                pairs.forEach(pair -> groups.computeIfAbsent(pair.getKey(), key -> new ArrayList<>()).add(pair.getValue()));
+            }
+        }
+
+        ByteArrayOutputStream[] bytes = new ByteArrayOutputStream[partitions];
+        DataOutputStream[] outs = new DataOutputStream[partitions];
+        int[] counts = new int[partitions];
+        for (int p = 0; p < partitions; p++) {
+            bytes[p] = new ByteArrayOutputStream();
+            outs[p] = new DataOutputStream(bytes[p]);
+        }
+        ByteArrayOutputStream keyBytes = new ByteArrayOutputStream();
+        DataOutputStream keyOut = new DataOutputStream(keyBytes);
+        for (Map.Entry<K, List<V>> group : groups.entrySet()) {
+            keyBytes.reset();
+            keyCodec.write(keyOut, group.getKey());
+            byte[] key = keyBytes.toByteArray();
+            int p = Protocol.partition(key, partitions);
+            outs[p].write(key);
+            outs[p].writeInt(group.getValue().size());
+            for (V value : group.getValue()) {
+                valueCodec.write(outs[p], value);
+            }
+            counts[p]++;
+        }
+
+        // Prefixing each partition with its number of groups
+        List<byte[]> encoded = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            ByteArrayOutputStream partition = new ByteArrayOutputStream(bytes[p].size() + Integer.BYTES);
+            new DataOutputStream(partition).writeInt(counts[p]);
+            bytes[p].writeTo(partition);
+            encoded.add(partition.toByteArray());
+        }
+        return encoded;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String token = System.getenv(Protocol.TOKEN_VARIABLE);
+        if (args.length != 4 || token == null) {
+            System.err.println("Usage: " + Protocol.TOKEN_VARIABLE + "=<token> java com.framework.Distributed.Worker <port> <wire-format-class> <partitions> <job-filter>");
+            System.exit(1);
+        }
+
+        int port = Integer.parseInt(args[0]);
+        WireFormat<?, ?> wireFormat = (WireFormat<?, ?>) Class.forName(args[1]).getConstructor().newInstance();
+        int partitions = Integer.parseInt(args[2]);
+        ObjectInputFilter jobFilter = ObjectInputFilter.Config.createFilter(args[3]);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            new Worker<>(wireFormat, partitions, jobFilter).serve(socket, token);
+        }
+    }
+}
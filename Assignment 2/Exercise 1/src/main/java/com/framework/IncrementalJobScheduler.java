@@ -0,0 +1,150 @@
+package com.framework;
+
+import com.framework.Strategies.ExecutionStrategy;
+import com.framework.Strategies.ReducedOutputStrategy;
+import com.framework.Strategies.WatchEmitStrategy;
+import com.framework.Utils.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Abstract class that defines the incremental (watch) variant of the job scheduling framework.
+ * 
+ * The scheduler retains, for every source, the per-key counts it contributed, together with the global counts.
+ * When the WatchEmitStrategy reports a new or modified source, only its job is executed: its old contribution
+ * is subtracted and the new one added; removed sources are simply subtracted. After each batch of changes
+ * the output is refreshed with the updated counts, without re-processing the unchanged sources.
+ * 
+ * If the job of a source fails (e.g. a file still being copied or locked), the previous contribution of the
+ * source is kept, rather than replaced by nothing, and its job is run again with the next batch.
+ * 
+ * Emit, execution and output are hot spots, while main() and update() are frozen spots.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public abstract class IncrementalJobScheduler<K, V> {
+    private final Map<String, Map<K, Long>> contributions = new HashMap<>(); // Counts contributed by each source
+    private final Map<K, Long> totals = new HashMap<>(); // Counts over all sources
+    private final Map<String, AJob<K, V>> failed = new HashMap<>(); // Jobs that failed, run again with the next batch
+
+    // Hot spots
+    private WatchEmitStrategy<K, V> emitStrategy; // Strategy for watching sources and emitting jobs
+    private ReducedOutputStrategy<K, Long> outputStrategy; // Strategy for outputting results
+    private ExecutionStrategy executionStrategy; // Strategy for executing jobs (null means sequential)
+
+    /**
+     * Sets the strategy for watching sources and emitting jobs (hot spot).
+     * 
+     * @param emitStrategy -> strategy to emit jobs
+     */
+    public void setEmitStrategy(WatchEmitStrategy<K, V> emitStrategy) {
+        this.emitStrategy = emitStrategy;
+    }
+
+    /**
+     * Sets the strategy for outputting results (hot spot).
+     * 
+     * @param outputStrategy -> strategy to output results
+     */
+    public void setOutputStrategy(ReducedOutputStrategy<K, Long> outputStrategy) {
+        this.outputStrategy = outputStrategy;
+    }
+
+    /**
+     * Sets the strategy for executing jobs (hot spot).
+     * 
+     * @param executionStrategy -> strategy to execute jobs, or null to run them sequentially
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * Applies a batch of changes to the retained counts and refreshes the output (frozen spot).
+     * 
+     * @param changed -> jobs for the new or modified sources, by source identifier
+     * @param removed -> identifiers of the removed sources
+     */
+    protected final void update(Map<String, AJob<K, V>> changed, Set<String> removed) {
+        Map<String, AJob<K, V>> jobs = new HashMap<>(failed);
+        jobs.keySet().removeAll(removed);
+        jobs.putAll(changed);
+        failed.clear();
+
+        List<String> sources = new ArrayList<>(jobs.keySet());
+        Stream<Map<K, Long>> counted = executionStrategy == null
+            ? sources.stream().map(source -> count(source, jobs.get(source)))
+            : executionStrategy.execute(sources.stream(), source -> count(source, jobs.get(source)));
+
+        List<Map<K, Long>> newContributions;
+        try (counted) {
+            newContributions = counted.toList();
+        }
+
+        for (String source : removed) {
+            subtract(contributions.remove(source));
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            if (newContributions.get(i) == null) {
+                failed.put(sources.get(i), jobs.get(sources.get(i)));
+                continue;
+            }
+            subtract(contributions.put(sources.get(i), newContributions.get(i)));
+            newContributions.get(i).forEach((key, count) -> totals.merge(key, count, Long::sum));
+        }
+
+        outputStrategy.output(totals.entrySet().stream()
+            .map(entry -> new Pair<>(entry.getKey(), entry.getValue())));
+    }
+
+    /**
+     * Main method to run the job scheduler.
+     * 
+     * Watches the sources and updates the output after every batch of changes,
+     * until the calling thread is interrupted. This method is a frozen spot of the framework.
+     */
+    public void main() {
+        emitStrategy.watch(this::update);
+    }
+
+    /**
+     * Executes a job and counts its values by key.
+     * 
+     * @param source -> identifier of the source of the job
+     * @param job -> the job to execute
+     * @return The per-key counts of the job, or null if the job failed
+     */
+    private Map<K, Long> count(String source, AJob<K, V> job) {
+        Map<K, Long> counts = new HashMap<>();
+        try (Stream<Pair<K, V>> pairs = job.execute()) {
+            pairs.forEach(pair -> counts.merge(pair.getKey(), 1L, Long::sum));
+        } catch (RuntimeException e) {
+            System.err.println("Could not process " + source + ", keeping its previous counts: " + e);
+            return null;
+        }
+        return counts;
+    }
+
+    /**
+     * Removes a previous contribution from the global counts, dropping keys whose count reaches zero.
+     * 
+     * @param contribution -> the contribution to remove, or null if there is none
+     */
+    private void subtract(Map<K, Long> contribution) {
+        if (contribution == null) {
+            return;
+        }
+        contribution.forEach((key, count) -> totals.compute(key, (k, total) -> {
+            long remaining = total - count;
+            return remaining == 0 ? null : remaining;
+        }));
+    }
+}
@@ -1,6 +1,11 @@
 package com.framework;
 
+import com.framework.Caching.ResultCache;
+import com.framework.Monitoring.JobSchedulerMonitor;
+import com.framework.Monitoring.JobSchedulerMonitorMBean;
 import com.framework.Strategies.EmitStrategy;
+import com.framework.Strategies.ExecutionStrategy;
+import com.framework.Strategies.GroupingStrategy;
 import com.framework.Strategies.OutputStrategy;
 import com.framework.Utils.Pair;
 
@@ -14,6 +19,13 @@ import java.util.Map;
  * 
  * This class utilizes the Strategy design pattern:
  * it allows flexible and interchangeable implementations of the emit and output strategies (hot spots).
+ * An optional execution strategy (hot spot) decides how jobs are run; by default they run sequentially.
+ * An optional grouping strategy (hot spot) decides how pairs are grouped; by default they are grouped in a single map.
+ * 
+ * An optional result cache serves the results of unchanged cacheable jobs from disk.
+ * 
+ * Every run is instrumented: JFR events are recorded per job and per stage, and live counters
+ * are exposed through a JMX MBean (com.framework:type=JobScheduler).
  * 
  * The following methods are considered frozen spots of the framework:
  * - main(): coordinates the execution of the framework following the assignment flow specification.
@@ -29,6 +41,11 @@ public abstract class JobScheduler<K, V> {
     // Hot spots
     private EmitStrategy<K, V> emitStrategy; // Strategy for emitting jobs
     private OutputStrategy<K, V> outputStrategy; // Strategy for outputting results
+    private ExecutionStrategy executionStrategy; // Strategy for executing jobs (null means sequential)
+    private GroupingStrategy<K, V> groupingStrategy; // Strategy for grouping results (null means single map)
+    private ResultCache<K, V> resultCache; // Cache of job results (null means no caching)
+
+    private final JobSchedulerMonitor monitor = new JobSchedulerMonitor(getClass().getSimpleName()); // Instrumentation
     
     /**
      * Sets the strategy for emitting jobs (hot spot).
@@ -48,17 +65,85 @@ public abstract class JobScheduler<K, V> {
         this.outputStrategy = outputStrategy;
     }
 
+    /**
+     * Sets the strategy for executing jobs (hot spot).
+     * 
+     * @param executionStrategy -> strategy to execute jobs, or null to run them sequentially
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * Sets the strategy for grouping results by key (hot spot).
+     * 
+     * @param groupingStrategy -> strategy to group results, or null to group them in a single map
+     */
+    public void setGroupingStrategy(GroupingStrategy<K, V> groupingStrategy) {
+        this.groupingStrategy = groupingStrategy;
+    }
+
+    /**
+     * Sets the cache from which the results of cacheable jobs are served.
+     * 
+     * @param resultCache -> the result cache, or null to always execute jobs
+     */
+    public void setResultCache(ResultCache<K, V> resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Returns the live counters of the scheduler (also registered as a JMX MBean while running).
+     * 
+     * @return The monitor of the scheduler
+     */
+    public JobSchedulerMonitorMBean getMonitor() {
+        return monitor;
+    }
+
     /**
      * Computes the results of the jobs (frozen spot).
      * 
      * Executes all jobs and flattens their results into a single stream of key-value pairs.
+     * When an execution strategy is set, each job is run to completion by the strategy
+     * and the results are concatenated in the order the jobs were emitted, so that
+     * the output is the same as in the sequential case.
      * 
      * @param jobs -> stream of jobs to be executed
      * @return Stream of key-value pairs obtained by executing the jobs
      */
     protected final Stream<Pair<K, V>> compute(Stream<AJob<K, V>> jobs) {
-         // Flat-maps the result of executing all jobs into a single stream
-        return jobs.flatMap(AJob::execute);
+        if (executionStrategy == null) {
+            // Flat-maps the result of executing all jobs into a single stream
+            return jobs.flatMap(this::run);
+        }
+
+        return executionStrategy.execute(jobs, this::drain)
+            .flatMap(List::stream);
+    }
+
+    /**
+     * Executes a job, through the result cache if one is set.
+     * 
+     * @param job -> the job to execute
+     * @return The stream of pairs of the job
+     */
+    private Stream<Pair<K, V>> run(AJob<K, V> job) {
+        return resultCache == null
+            ? monitor.execute(job)
+            : monitor.execute(job, resultCache::execute);
+    }
+
+    /**
+     * Executes a job and materializes its results, closing the job stream afterwards.
+     * 
+     * @param job -> the job to execute
+     * @return The list of key-value pairs emitted by the job
+     */
+    private List<Pair<K, V>> drain(AJob<K, V> job) {
+        try (Stream<Pair<K, V>> pairs = run(job)) {
+            return pairs.toList();
+        }
     }
 
     /**
@@ -66,11 +151,16 @@ public abstract class JobScheduler<K, V> {
      * 
      * Groups key-value pairs by their keys and returns a stream of pairs where each key
      * is associated with a list of values.
+     * When a grouping strategy is set, grouping is delegated to it.
      * 
      * @param stream -> stream of key-value pairs to be grouped
      * @return Stream of pairs where each key is associated with a list of values
      */
     protected final Stream<Pair<K, List<V>>> collect(Stream<Pair<K, V>> stream) {
+        if (groupingStrategy != null) {
+            return groupingStrategy.group(stream);
+        }
+
         // Grouping by key and collecting values into a list
         Map<K, List<V>> groupedMap = stream
             .collect(Collectors.groupingBy(Pair::getKey, Collectors.mapping(Pair::getValue, Collectors.toList())));
@@ -89,17 +179,27 @@ public abstract class JobScheduler<K, V> {
      * This method is a frozen spot of the framework, meaning it cannot be modified by subclasses.
     */
     public void main() {
-        // Emit jobs
-        Stream<AJob<K, V>> jobs = emitStrategy.emit();
-
-        // Compute results from jobs
-        Stream<Pair<K, V>> computedResults = compute(jobs);
+        monitor.register();
+        monitor.startRun(outputStrategy::getBytesWritten);
 
-        // Collect results
-        Stream<Pair<K, List<V>>> result = collect(computedResults);
+        // Emit, compute and collect results (since streams are lazy, emitting is immediate and the jobs run while collecting)
+        Stream<Pair<K, List<V>>> result;
+        JobSchedulerMonitor.StageScope stage = monitor.stage("collect");
+        try {
+            Stream<AJob<K, V>> jobs = emitStrategy.emit();
+            Stream<Pair<K, V>> computedResults = compute(jobs);
+            result = collect(computedResults);
+        } finally {
+            stage.close();
+        }
 
-        // Output the final results
-        outputStrategy.output(result);
+        // Output the final results, then close the groups (releasing e.g. the spilled runs of the grouping strategy)
+        stage = monitor.stage("output");
+        try (result) {
+            outputStrategy.output(result.peek(monitor::grouped));
+        } finally {
+            stage.close();
+        }
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.framework.Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every job executed by the JobScheduler.
+ * 
+ * The duration of the event spans from the start of the job to the consumption of its last pair.
+ * 
+ * @author Faxy
+ */
+@Name("com.framework.Job")
+@Label("Job")
+@Category({"Job Scheduler"})
+@Description("Execution of a single job")
+public class JobEvent extends jdk.jfr.Event {
+    @Label("Job")
+    @Description("Description of the job, e.g. the processed file")
+    String job;
+
+    @Label("Input Size")
+    @DataAmount
+    long inputBytes;
+
+    @Label("Pairs Emitted")
+    long pairsEmitted;
+}
@@ -0,0 +1,184 @@
+package com.framework.Monitoring;
+
+import com.framework.AJob;
+import com.framework.Utils.Pair;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the instrumentation of a JobScheduler: JFR job and stage events, and the counters exposed over JMX.
+ * 
+ * @author Faxy
+ */
+public class JobSchedulerMonitor implements JobSchedulerMonitorMBean {
+    private final String scheduler;
+    private volatile String stage = "idle";
+    private volatile long runStart = System.nanoTime();
+    private final LongAdder jobsCompleted = new LongAdder();
+    private final LongAdder pairsEmitted = new LongAdder();
+    private final AtomicLong distinctKeys = new AtomicLong();
+    private final AtomicLong groupedValues = new AtomicLong();
+    private volatile LongSupplier outputBytes = () -> -1;
+
+    /**
+     * Handle of a running stage; closing it ends the stage.
+     */
+    public interface StageScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Constructor to initialize the name of the monitored scheduler.
+     * 
+     * @param scheduler - Name of the scheduler, used in events and in the MBean name
+     */
+    public JobSchedulerMonitor(String scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers the monitor in the platform MBean server, replacing a previous monitor with the same name.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.framework:type=JobScheduler,name=" + ObjectName.quote(scheduler));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Resets the counters at the start of a run.
+     * 
+     * @param outputBytes -> supplier of the bytes written by the output strategy
+     */
+    public void startRun(LongSupplier outputBytes) {
+        runStart = System.nanoTime();
+        jobsCompleted.reset();
+        pairsEmitted.reset();
+        distinctKeys.set(0);
+        groupedValues.set(0);
+        this.outputBytes = outputBytes;
+    }
+
+    /**
+     * Starts a stage, to be ended by closing the returned handle.
+     * 
+     * @param name -> the name of the stage
+     * @return The handle ending the stage
+     */
+    public StageScope stage(String name) {
+        StageEvent event = new StageEvent();
+        event.begin();
+        stage = name;
+        return () -> {
+            stage = "idle";
+            event.end();
+            if (event.shouldCommit()) {
+                event.scheduler = scheduler;
+                event.stage = name;
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Executes a job, instrumenting its results.
+     * 
+     * The job event and the counters are updated when the returned stream is closed.
+     * 
+     * @param job -> the job to execute
+     * @return The stream of pairs emitted by the job
+     */
+    public <K, V> Stream<Pair<K, V>> execute(AJob<K, V> job) {
+        return execute(job, AJob::execute);
+    }
+
+    /**
+     * Executes a job through the given runner (e.g. a cache), instrumenting its results.
+     * 
+     * @param job -> the job to execute
+     * @param runner -> function producing the pairs of the job
+     * @return The stream of pairs emitted by the job
+     */
+    public <K, V> Stream<Pair<K, V>> execute(AJob<K, V> job, Function<AJob<K, V>, Stream<Pair<K, V>>> runner) {
+        JobEvent event = new JobEvent();
+        event.begin();
+        long[] pairs = new long[1];
+        return runner.apply(job)
+            .peek(pair -> pairs[0]++)
+            .onClose(() -> {
+                jobsCompleted.increment();
+                pairsEmitted.add(pairs[0]);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.job = job.getDescription();
+                    event.inputBytes = job.getInputSize();
+                    event.pairsEmitted = pairs[0];
+                    event.commit();
+                }
+            });
+    }
+
+    /**
+     * Accounts a group handed to the output (output-stage counters, not updated while grouping).
+     * 
+     * @param group -> the group
+     */
+    public <K, V> void grouped(Pair<K, List<V>> group) {
+        distinctKeys.incrementAndGet();
+        groupedValues.addAndGet(group.getValue().size());
+    }
+
+    @Override
+    public String getStage() {
+        return stage;
+    }
+
+    @Override
+    public long getJobsCompleted() {
+        return jobsCompleted.sum();
+    }
+
+    @Override
+    public long getPairsEmitted() {
+        return pairsEmitted.sum();
+    }
+
+    @Override
+    public double getPairsPerSecond() {
+        double seconds = (System.nanoTime() - runStart) / 1e9;
+        return seconds > 0 ? pairsEmitted.sum() / seconds : 0;
+    }
+
+    @Override
+    public long getDistinctKeys() {
+        return distinctKeys.get();
+    }
+
+    @Override
+    public long getGroupedValues() {
+        return groupedValues.get();
+    }
+
+    @Override
+    public long getOutputBytesWritten() {
+        return outputBytes.getAsLong();
+    }
+}
@@ -0,0 +1,48 @@
+package com.framework.Monitoring;
+
+/**
+ * Management interface exposing the live counters of a JobScheduler over JMX.
+ * 
+ * Counters refer to the current (or last) run of the scheduler.
+ * The job counters grow while the jobs run (collect stage); the group counters are output-stage counters,
+ * growing only as the output consumes the groups (they stay at 0 while the groups are being built).
+ * 
+ * @author Faxy
+ */
+public interface JobSchedulerMonitorMBean {
+
+    /**
+     * @return The stage currently running, or "idle"
+     */
+    String getStage();
+
+    /**
+     * @return The number of jobs whose results have been fully consumed
+     */
+    long getJobsCompleted();
+
+    /**
+     * @return The number of key-value pairs emitted by the jobs
+     */
+    long getPairsEmitted();
+
+    /**
+     * @return The average number of pairs emitted per second since the start of the run
+     */
+    double getPairsPerSecond();
+
+    /**
+     * @return The number of distinct keys handed to the output so far (output-stage counter)
+     */
+    long getDistinctKeys();
+
+    /**
+     * @return The number of values held by the groups handed to the output so far (output-stage counter)
+     */
+    long getGroupedValues();
+
+    /**
+     * @return The number of bytes written by the output strategy, or -1 if it does not report it
+     */
+    long getOutputBytesWritten();
+}
@@ -0,0 +1,23 @@
+package com.framework.Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every stage (collect, output) of a JobScheduler run.
+ * 
+ * @author Faxy
+ */
+@Name("com.framework.Stage")
+@Label("Stage")
+@Category({"Job Scheduler"})
+@Description("Execution of a stage of the job scheduler")
+public class StageEvent extends jdk.jfr.Event {
+    @Label("Scheduler")
+    String scheduler;
+
+    @Label("Stage")
+    String stage;
+}
@@ -0,0 +1,20 @@
+package com.framework.Primitives;
+
+import java.util.stream.Stream;
+
+/**
+ * Interface LongEmitStrategy.
+ *
+ * Counterpart of EmitStrategy for the primitive variant of the framework.
+ *
+ * @author Faxy
+ */
+public interface LongEmitStrategy {
+
+    /**
+     * Emits the jobs to be executed.
+     *
+     * @return A stream of jobs
+     */
+    Stream<LongKeyJob> emit();
+}
@@ -0,0 +1,37 @@
+package com.framework.Primitives;
+
+/**
+ * Job of the primitive variant of the framework, emitting (long, long) records instead of Pair objects.
+ *
+ * Records are pushed into a sink while the job runs, so a job allocates nothing per record
+ * and keys and values are never boxed.
+ *
+ * @author Faxy
+ */
+public abstract class LongKeyJob {
+
+    /**
+     * Executes the job, emitting its records.
+     *
+     * @param sink -> the consumer of the records
+     */
+    public abstract void execute(LongLongConsumer sink);
+
+    /**
+     * Describes the job for monitoring purposes (e.g. the processed file).
+     *
+     * @return A short description of the job
+     */
+    public String getDescription() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Returns the size of the input of the job for monitoring purposes.
+     *
+     * @return The input size in bytes, or -1 if unknown
+     */
+    public long getInputSize() {
+        return -1;
+    }
+}
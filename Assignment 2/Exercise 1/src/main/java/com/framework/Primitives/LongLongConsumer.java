@@ -0,0 +1,18 @@
+package com.framework.Primitives;
+
+/**
+ * Sink of (long key, long value) records, the primitive counterpart of a stream of Pair objects.
+ *
+ * @author Faxy
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+
+    /**
+     * Receives a record.
+     *
+     * @param key -> the key
+     * @param value -> the value
+     */
+    void accept(long key, long value);
+}
@@ -0,0 +1,212 @@
+package com.framework.Primitives;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Open-addressing hash map from long keys to long values, without boxing and without an object per entry.
+ *
+ * Keys and values are stored in two parallel arrays, probed linearly from a Fibonacci hash of the key,
+ * and the table is kept at most half full so that probes stay short. The key 0 marks empty slots,
+ * so its value is held apart. Entries cannot be removed.
+ *
+ * Maps are mutable and not thread-safe: each job fills its own, then they are merged.
+ *
+ * @author Faxy
+ */
+public final class LongLongHashMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int shift; // 64 - log2(capacity)
+    private int size; // Entries in the table (the key 0 excluded)
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * Constructor to initialize an empty map.
+     */
+    public LongLongHashMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Constructor to initialize an empty map sized for the given number of keys.
+     *
+     * @param expectedKeys - Number of keys the map should hold without resizing
+     */
+    public LongLongHashMap(int expectedKeys) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedKeys * 2 - 1)) << 1);
+        allocate(capacity);
+    }
+
+    /**
+     * @return The number of keys
+     */
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Tells whether the map holds a key.
+     *
+     * @param key -> the key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key -> the key
+     * @param defaultValue -> the value returned for a missing key
+     * @return The value of the key, or defaultValue
+     */
+    public long get(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key -> the key
+     * @param value -> its new value
+     */
+    public void put(long key, long value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    /**
+     * Adds a delta to the value of a key (a missing key counts as 0).
+     *
+     * @param key -> the key
+     * @param delta -> the amount to add
+     */
+    public void addTo(long key, long delta) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue += delta;
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+        } else {
+            insert(slot, key, delta);
+        }
+    }
+
+    /**
+     * Combines a value into the value of a key.
+     *
+     * @param key -> the key
+     * @param value -> the value to combine
+     * @param reducer -> associative function combining the current value with the given one
+     *                   (a missing key simply takes the given value)
+     */
+    public void merge(long key, long value, LongBinaryOperator reducer) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? reducer.applyAsLong(zeroValue, value) : value;
+            hasZeroKey = true;
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = reducer.applyAsLong(values[slot], value);
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    /**
+     * Combines all the entries of another map into this one.
+     *
+     * @param other -> the map to merge (left unchanged)
+     * @param reducer -> associative function combining the values of a key present in both maps
+     * @return This map
+     */
+    public LongLongHashMap mergeAll(LongLongHashMap other, LongBinaryOperator reducer) {
+        other.forEach((key, value) -> merge(key, value, reducer));
+        return this;
+    }
+
+    /**
+     * Passes every entry to a consumer, in no particular order.
+     *
+     * @param consumer -> receives each key with its value
+     */
+    public void forEach(LongLongConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a (non-zero) key, or the empty slot where it would be inserted.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, long key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length / 2) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int target = find(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongHashMap[size=" + size() + ", capacity=" + keys.length + "]";
+    }
+
+}
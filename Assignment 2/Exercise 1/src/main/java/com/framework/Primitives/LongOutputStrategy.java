@@ -0,0 +1,19 @@
+package com.framework.Primitives;
+
+/**
+ * Interface LongOutputStrategy.
+ *
+ * Counterpart of ReducedOutputStrategy for the primitive variant of the framework:
+ * the reduced value of every key is handed over in a primitive map, to be traversed with forEach.
+ *
+ * @author Faxy
+ */
+public interface LongOutputStrategy {
+
+    /**
+     * Outputs the reduced records.
+     *
+     * @param result - The map from each key to its reduced value
+     */
+    void output(LongLongHashMap result);
+}
@@ -0,0 +1,135 @@
+package com.framework.Primitives;
+
+import com.framework.Strategies.ExecutionStrategy;
+
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Abstract class that defines the primitive variant of the reducing job scheduling framework.
+ *
+ * It mirrors ReducingJobScheduler for long keys and long values: jobs push their records into a sink,
+ * which folds them into a LongLongHashMap local to the job, and the per-job maps are merged before the output.
+ * No Pair, no boxed key or value and no object per entry is allocated along the way.
+ *
+ * As in ReducingJobScheduler, emit, execution and output are hot spots, while the following methods are frozen spots:
+ * - main(): coordinates emit -> compute -> collect -> output.
+ * - compute(Stream): executes jobs, folding the records of each job into a partial map.
+ * - collect(Stream): merges the partial maps into a single one.
+ *
+ * @author Faxy
+ */
+public abstract class LongReducingJobScheduler {
+    private final LongBinaryOperator reducer; // Folds the values of a key
+
+    // Hot spots
+    private LongEmitStrategy emitStrategy; // Strategy for emitting jobs
+    private LongOutputStrategy outputStrategy; // Strategy for outputting results
+    private ExecutionStrategy executionStrategy; // Strategy for executing jobs (null means sequential)
+
+    /**
+     * Constructor to initialize the reducer.
+     *
+     * @param reducer - Associative and commutative function used to fold the values of each key (e.g. Long::sum)
+     */
+    protected LongReducingJobScheduler(LongBinaryOperator reducer) {
+        this.reducer = reducer;
+    }
+
+    /**
+     * Sets the strategy for emitting jobs (hot spot).
+     *
+     * @param emitStrategy -> strategy to emit jobs
+     */
+    public void setEmitStrategy(LongEmitStrategy emitStrategy) {
+        this.emitStrategy = emitStrategy;
+    }
+
+    /**
+     * Sets the strategy for outputting results (hot spot).
+     *
+     * @param outputStrategy -> strategy to output results
+     */
+    public void setOutputStrategy(LongOutputStrategy outputStrategy) {
+        this.outputStrategy = outputStrategy;
+    }
+
+    /**
+     * Sets the strategy for executing jobs (hot spot).
+     *
+     * @param executionStrategy -> strategy to execute jobs, or null to run them sequentially
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * Computes the partial results of the jobs (frozen spot).
+     *
+     * Each job is executed and its records are folded by key into a map local to the job.
+     *
+     * @param jobs -> stream of jobs to be executed
+     * @return Stream of per-job maps from key to reduced value
+     */
+    protected final Stream<LongLongHashMap> compute(Stream<LongKeyJob> jobs) {
+        if (executionStrategy == null) {
+            return jobs.map(this::fold);
+        }
+        return executionStrategy.execute(jobs, this::fold);
+    }
+
+    /**
+     * Merges the partial results by key (frozen spot).
+     *
+     * Each partial map is merged into the largest one seen so far, so that the large maps are not copied.
+     *
+     * @param partials -> stream of per-job maps from key to reduced value
+     * @return The map from each key to its reduced value
+     */
+    protected final LongLongHashMap collect(Stream<LongLongHashMap> partials) {
+        LongLongHashMap merged = new LongLongHashMap();
+        try (partials) {
+            for (LongLongHashMap partial : (Iterable<LongLongHashMap>) partials::iterator) {
+                if (partial.size() > merged.size()) {
+                    merged = partial.mergeAll(merged, reducer);
+                } else {
+                    merged.mergeAll(partial, reducer);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Main method to run the job scheduler.
+     *
+     * emit (Stream<LongKeyJob>) -> compute (Stream<LongLongHashMap>) -> collect (LongLongHashMap) -> output
+     *
+     * This method is a frozen spot of the framework.
+     */
+    public void main() {
+        // Emit jobs
+        Stream<LongKeyJob> jobs = emitStrategy.emit();
+
+        // Compute partial results from jobs
+        Stream<LongLongHashMap> partials = compute(jobs);
+
+        // Merge partial results
+        LongLongHashMap result = collect(partials);
+
+        // Output the final results
+        outputStrategy.output(result);
+    }
+
+    /**
+     * Executes a job and folds its records by key.
+     *
+     * @param job -> the job to execute
+     * @return The map from key to reduced value for this job
+     */
+    private LongLongHashMap fold(LongKeyJob job) {
+        LongLongHashMap local = new LongLongHashMap();
+        job.execute((key, value) -> local.merge(key, value, reducer));
+        return local;
+    }
+}
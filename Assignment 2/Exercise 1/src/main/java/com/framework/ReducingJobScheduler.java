@@ -0,0 +1,145 @@
+package com.framework;
+
+import com.framework.Strategies.EmitStrategy;
+import com.framework.Strategies.ExecutionStrategy;
+import com.framework.Strategies.ReducedOutputStrategy;
+import com.framework.Utils.Pair;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Abstract class that defines the reducing variant of the job scheduling framework.
+ * 
+ * Instead of materializing every value emitted for a key, values are folded with a
+ * user-supplied associative Combiner inside each job (map-side combine), and the per-job
+ * partial results are merged into a single map before the output.
+ * Memory is therefore proportional to the number of distinct keys, not to the number of emitted pairs.
+ * 
+ * As in JobScheduler, emit, execution and output are hot spots, while the following methods are frozen spots:
+ * - main(): coordinates emit -> compute -> collect -> output.
+ * - compute(Stream): executes jobs, folding the results of each job into a partial map.
+ * - collect(Stream): merges the partial maps into a stream of pairs (key, accumulator).
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * @param <A> - Type of accumulators
+ * 
+ * @author Faxy
+ */
+public abstract class ReducingJobScheduler<K, V, A> {
+    private final Combiner<V, A> combiner; // Folds values into accumulators
+
+    // Hot spots
+    private EmitStrategy<K, V> emitStrategy; // Strategy for emitting jobs
+    private ReducedOutputStrategy<K, A> outputStrategy; // Strategy for outputting results
+    private ExecutionStrategy executionStrategy; // Strategy for executing jobs (null means sequential)
+
+    /**
+     * Constructor to initialize the combiner.
+     * 
+     * @param combiner - Associative combiner used to fold the values of each key
+     */
+    protected ReducingJobScheduler(Combiner<V, A> combiner) {
+        this.combiner = combiner;
+    }
+
+    /**
+     * Sets the strategy for emitting jobs (hot spot).
+     * 
+     * @param emitStrategy -> strategy to emit jobs
+     */
+    public void setEmitStrategy(EmitStrategy<K, V> emitStrategy) {
+        this.emitStrategy = emitStrategy;
+    }
+
+    /**
+     * Sets the strategy for outputting results (hot spot).
+     * 
+     * @param outputStrategy -> strategy to output results
+     */
+    public void setOutputStrategy(ReducedOutputStrategy<K, A> outputStrategy) {
+        this.outputStrategy = outputStrategy;
+    }
+
+    /**
+     * Sets the strategy for executing jobs (hot spot).
+     * 
+     * @param executionStrategy -> strategy to execute jobs, or null to run them sequentially
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * Computes the partial results of the jobs (frozen spot).
+     * 
+     * Each job is executed and its pairs are folded by key into a map local to the job.
+     * 
+     * @param jobs -> stream of jobs to be executed
+     * @return Stream of per-job maps from key to accumulator
+     */
+    protected final Stream<Map<K, A>> compute(Stream<AJob<K, V>> jobs) {
+        if (executionStrategy == null) {
+            return jobs.map(this::fold);
+        }
+        return executionStrategy.execute(jobs, this::fold);
+    }
+
+    /**
+     * Merges the partial results by key (frozen spot).
+     * 
+     * @param partials -> stream of per-job maps from key to accumulator
+     * @return Stream of pairs where each key is associated with its accumulator
+     */
+    protected final Stream<Pair<K, A>> collect(Stream<Map<K, A>> partials) {
+        Map<K, A> merged = new HashMap<>();
+        try (partials) {
+            partials.forEach(partial -> partial.forEach((key, acc) -> merged.merge(key, acc, combiner::combine)));
+        }
+
+        return merged.entrySet().stream()
+            .map(entry -> new Pair<>(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Main method to run the job scheduler.
+     * 
+     * emit (Stream<AJob<K, V>>) -> compute (Stream<Map<K, A>>) -> collect (Stream<Pair<K, A>>) -> output
+     * 
+     * This method is a frozen spot of the framework.
+     */
+    public void main() {
+        // Emit jobs
+        Stream<AJob<K, V>> jobs = emitStrategy.emit();
+
+        // Compute partial results from jobs
+        Stream<Map<K, A>> partials = compute(jobs);
+
+        // Merge partial results
+        Stream<Pair<K, A>> result = collect(partials);
+
+        // Output the final results
+        outputStrategy.output(result);
+    }
+
+    /**
+     * Executes a job and folds its pairs by key.
+     * 
+     * @param job -> the job to execute
+     * @return The map from key to accumulator for this job
+     */
+    private Map<K, A> fold(AJob<K, V> job) {
+        Map<K, A> local = new HashMap<>();
+        try (Stream<Pair<K, V>> pairs = job.execute()) {
+            pairs.forEach(pair -> {
+                A accumulator = local.get(pair.getKey());
+                local.put(pair.getKey(), accumulator == null
+                    ? combiner.lift(pair.getValue())
+                    : combiner.add(accumulator, pair.getValue()));
+            });
+        }
+        return local;
+    }
+}
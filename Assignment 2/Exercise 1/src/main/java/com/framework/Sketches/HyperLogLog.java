@@ -0,0 +1,203 @@
+package com.framework.Sketches;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable HyperLogLog sketch, estimating the number of distinct elements added to it in bounded memory.
+ *
+ * The sketch starts in a sparse (exact) representation, holding the distinct hashes themselves, and switches to
+ * 2^precision one-byte registers once the hashes would take more room than the registers. Small sets, which are
+ * the common case for most keys, are therefore counted exactly and cheaply, while large ones never take more than
+ * 2^precision bytes. In the dense representation the relative standard error is 1.04 / sqrt(2^precision).
+ *
+ * Elements are added by their 64-bit hash, which must be well mixed (see hash(long)).
+ * Sketches are mutable and not thread-safe: add and merge update the sketch in place.
+ *
+ * @author Faxy
+ */
+public final class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final int registerCount;
+    private byte[] registers; // Dense representation (null while sparse)
+    private long[] sparse = new long[4]; // Sorted distinct hashes, while sparse
+    private int sparseSize;
+
+    /**
+     * Constructor to initialize an empty sketch.
+     *
+     * @param precision - Number of index bits (between MIN_PRECISION and MAX_PRECISION): the dense sketch takes 2^precision bytes
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ".");
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+    }
+
+    /**
+     * Mixes a (possibly poor) hash code into a well distributed 64-bit hash (MurmurHash3 finalizer).
+     *
+     * @param hashCode -> the hash code to mix
+     * @return The mixed hash
+     */
+    public static long hash(long hashCode) {
+        long h = hashCode;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds an element, given by its hash.
+     *
+     * @param hash -> the 64-bit hash of the element
+     * @return This sketch
+     */
+    public HyperLogLog add(long hash) {
+        if (registers != null) {
+            addDense(hash);
+            return this;
+        }
+        int position = Arrays.binarySearch(sparse, 0, sparseSize, hash);
+        if (position >= 0) {
+            return this;
+        }
+        if (sparseSize == registerCount / Long.BYTES) {
+            toDense();
+            addDense(hash);
+            return this;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, sparse.length * 2);
+        }
+        int insertion = -position - 1;
+        System.arraycopy(sparse, insertion, sparse, insertion + 1, sparseSize - insertion);
+        sparse[insertion] = hash;
+        sparseSize++;
+        return this;
+    }
+
+    /**
+     * Merges another sketch of the same precision into this one.
+     *
+     * @param other -> the sketch to merge (left unchanged)
+     * @return This sketch, estimating the union of both
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision.");
+        }
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                add(other.sparse[i]);
+            }
+            return this;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        for (int i = 0; i < registerCount; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Estimates the number of distinct elements added.
+     *
+     * @return The estimated cardinality (exact while the sketch is sparse)
+     */
+    public long estimate() {
+        if (registers == null) {
+            return sparseSize;
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha() * registerCount * registerCount / sum;
+        if (estimate <= 2.5 * registerCount && zeros > 0) {
+            estimate = registerCount * Math.log((double) registerCount / zeros); // Linear counting for small cardinalities
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns the standard error of the estimate, in elements (about 68% of estimates fall within one standard error).
+     *
+     * @return The absolute standard error (0 while the sketch is exact)
+     */
+    public long standardError() {
+        if (registers == null) {
+            return 0;
+        }
+        return Math.round(relativeStandardError(precision) * estimate());
+    }
+
+    /**
+     * Returns the relative standard error of a dense sketch of the given precision.
+     *
+     * @param precision -> number of index bits
+     * @return The relative standard error
+     */
+    public static double relativeStandardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Tells whether the estimate is still exact.
+     *
+     * @return true if the sketch holds the distinct hashes themselves
+     */
+    public boolean isExact() {
+        return registers == null;
+    }
+
+    /**
+     * Formats the estimate with its standard error.
+     *
+     * @return The estimate, followed by "±" and the standard error unless the estimate is exact
+     */
+    @Override
+    public String toString() {
+        return registers == null ? Long.toString(sparseSize) : estimate() + " ±" + standardError();
+    }
+
+    private void addDense(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // Rank of the first 1 bit after the index bits (capped when all of them are zero)
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    private void toDense() {
+        registers = new byte[registerCount];
+        for (int i = 0; i < sparseSize; i++) {
+            addDense(sparse[i]);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private double alpha() {
+        return switch (registerCount) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / registerCount);
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.framework.Sketches;
+
+import com.framework.Utils.Pair;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Mergeable summary keeping the K keys with the largest scores among those offered to it, in O(K) memory.
+ *
+ * The entries are held in a min-heap ordered by rank, whose root is the worst of the K retained entries:
+ * an offered key is rejected with a single comparison against the root unless it ranks better, so
+ * scanning N keys takes O(N log K) time in the worst case and close to O(N) in practice.
+ * Keys with equal scores are ranked by the given tie-break order, so that the result does not depend
+ * on the order in which keys are offered, nor on how the summaries of different partitions are merged.
+ *
+ * Summaries are mutable and not thread-safe: each thread (or partition) fills its own, then they are merged.
+ *
+ * @param <K> - Type of keys
+ *
+ * @author Faxy
+ */
+public final class TopK<K> {
+    private final int k;
+    private final Comparator<Entry<K>> rank; // Best entries first
+    private final PriorityQueue<Entry<K>> heap; // Worst retained entry at the root
+
+    /**
+     * A retained key with its score.
+     */
+    private record Entry<K>(K key, long score) {
+    }
+
+    /**
+     * Constructor to initialize an empty summary.
+     *
+     * @param k - Number of keys to keep
+     * @param tieBreak - Order of keys with the same score (the smallest ranks first)
+     */
+    public TopK(int k, Comparator<? super K> tieBreak) {
+        if (k < 1) {
+            throw new IllegalArgumentException("At least one key must be kept.");
+        }
+        this.k = k;
+        Comparator<Entry<K>> byScore = Comparator.comparingLong(Entry::score);
+        this.rank = byScore.reversed().thenComparing(Entry::key, tieBreak);
+        this.heap = new PriorityQueue<>(Math.min(k, 1 << 16), rank.reversed());
+    }
+
+    /**
+     * Offers a key with its score.
+     *
+     * @param key -> the key
+     * @param score -> its score (e.g. the size of its group)
+     * @return This summary
+     */
+    public TopK<K> offer(K key, long score) {
+        if (heap.size() < k) {
+            heap.add(new Entry<>(key, score));
+            return this;
+        }
+        Entry<K> worst = heap.peek();
+        if (score < worst.score() || (score == worst.score() && rank.compare(new Entry<>(key, score), worst) >= 0)) {
+            return this; // The common case once the heap is full: no allocation, no heap update
+        }
+        heap.poll();
+        heap.add(new Entry<>(key, score));
+        return this;
+    }
+
+    /**
+     * Merges another summary (of the same K, over disjoint keys) into this one.
+     *
+     * @param other -> the summary to merge (left unchanged)
+     * @return This summary, keeping the K best keys of both
+     */
+    public TopK<K> merge(TopK<K> other) {
+        for (Entry<K> entry : other.heap) {
+            offer(entry.key(), entry.score());
+        }
+        return this;
+    }
+
+    /**
+     * Returns the retained keys, best first.
+     *
+     * @return Pairs of keys and scores, by decreasing score (ties by the tie-break order)
+     */
+    public List<Pair<K, Long>> toList() {
+        List<Entry<K>> entries = new ArrayList<>(heap);
+        entries.sort(rank);
+        List<Pair<K, Long>> ranked = new ArrayList<>(entries.size());
+        for (Entry<K> entry : entries) {
+            ranked.add(new Pair<>(entry.key(), entry.score()));
+        }
+        return ranked;
+    }
+
+    /**
+     * Folds a stream into a TopK, in parallel when the stream can be split without copying it.
+     *
+     * Only a stream of known size (e.g. over the entries of maps) is split: a stream of unknown size,
+     * backed by an iterator (e.g. the merged runs of ExternalGroupingStrategy), would be split by copying
+     * batches of up to millions of elements into arrays, defeating the O(K) memory of the summary.
+     *
+     * @param <T> - Type of the stream elements
+     * @param <K> - Type of keys
+     * @param elements -> the stream to fold (not closed)
+     * @param k -> number of keys to keep
+     * @param tieBreak -> order of keys with the same score
+     * @param key -> extracts the key of an element
+     * @param score -> extracts the score of an element
+     * @return The summary of the K best keys of the stream
+     */
+    public static <T, K> TopK<K> select(Stream<T> elements, int k, Comparator<? super K> tieBreak,
+            Function<? super T, ? extends K> key, ToLongFunction<? super T> score) {
+        Spliterator<T> spliterator = elements.spliterator();
+        return StreamSupport.stream(spliterator, spliterator.hasCharacteristics(Spliterator.SIZED))
+            .collect(collector(k, tieBreak, key, score));
+    }
+
+    /**
+     * Returns a collector folding a stream into a TopK.
+     *
+     * On a parallel stream every thread fills its own summary, and the summaries are merged.
+     *
+     * @param <T> - Type of the stream elements
+     * @param <K> - Type of keys
+     * @param k -> number of keys to keep
+     * @param tieBreak -> order of keys with the same score
+     * @param key -> extracts the key of an element
+     * @param score -> extracts the score of an element
+     * @return The collector
+     */
+    public static <T, K> Collector<T, ?, TopK<K>> collector(int k, Comparator<? super K> tieBreak,
+            Function<? super T, ? extends K> key, ToLongFunction<? super T> score) {
+        return Collector.of(
+            () -> new TopK<>(k, tieBreak),
+            (top, element) -> top.offer(key.apply(element), score.applyAsLong(element)),
+            TopK::merge,
+            Collector.Characteristics.UNORDERED);
+    }
+}
@@ -0,0 +1,298 @@
+package com.framework;
+
+import com.framework.Strategies.EmitStrategy;
+import com.framework.Strategies.GroupingStrategy;
+import com.framework.Strategies.OutputStrategy;
+import com.framework.Utils.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Abstract class that defines the staged (pipelined) variant of the job scheduling framework.
+ * 
+ * The four stages of JobScheduler run concurrently, each on its own workers, and are connected by bounded channels:
+ * emit -> [jobs] -> compute (N workers) -> [chunks of pairs] -> collect -> [groups] -> output
+ * A full channel blocks the stage feeding it (backpressure), so memory stays bounded when a stage
+ * is faster than the following one, and the I/O of a stage overlaps with the work of the others.
+ * The I/O-bound stages (emit and output) can run on virtual threads.
+ * 
+ * Since jobs are executed by several workers, the values of a key may be grouped in any order.
+ * If a stage fails, the other stages are cancelled and the failure is rethrown by main().
+ * The run is complete once the output stage returns, even if it did not read all the groups
+ * (a top-N that stops early): the stages still feeding it are then cancelled.
+ * 
+ * Emit, grouping and output are hot spots (as in JobScheduler), while main() is a frozen spot.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public abstract class StagedJobScheduler<K, V> {
+    private static final int CHUNK_SIZE = 1024; // Pairs handed from compute to collect at once
+
+    // Hot spots
+    private EmitStrategy<K, V> emitStrategy; // Strategy for emitting jobs
+    private OutputStrategy<K, V> outputStrategy; // Strategy for outputting results
+    private GroupingStrategy<K, V> groupingStrategy; // Strategy for grouping results (null means single map)
+
+    // Pipeline configuration
+    private int computeWorkers = Runtime.getRuntime().availableProcessors();
+    private int channelCapacity = 64;
+    private boolean virtualThreadsForIO = true;
+
+    /**
+     * Sets the strategy for emitting jobs (hot spot).
+     * 
+     * @param emitStrategy -> strategy to emit jobs
+     */
+    public void setEmitStrategy(EmitStrategy<K, V> emitStrategy) {
+        this.emitStrategy = emitStrategy;
+    }
+
+    /**
+     * Sets the strategy for outputting results (hot spot).
+     * 
+     * @param outputStrategy -> strategy to output results
+     */
+    public void setOutputStrategy(OutputStrategy<K, V> outputStrategy) {
+        this.outputStrategy = outputStrategy;
+    }
+
+    /**
+     * Sets the strategy for grouping results by key (hot spot).
+     * 
+     * @param groupingStrategy -> strategy to group results, or null to group them in a single map
+     */
+    public void setGroupingStrategy(GroupingStrategy<K, V> groupingStrategy) {
+        this.groupingStrategy = groupingStrategy;
+    }
+
+    /**
+     * Sets the number of workers executing jobs (default: number of available cores).
+     * 
+     * @param computeWorkers -> number of compute workers
+     */
+    public void setComputeWorkers(int computeWorkers) {
+        if (computeWorkers < 1) {
+            throw new IllegalArgumentException("There must be at least one compute worker.");
+        }
+        this.computeWorkers = computeWorkers;
+    }
+
+    /**
+     * Sets the capacity of the channels between stages (default: 64).
+     * 
+     * @param channelCapacity -> maximum number of items waiting between two stages
+     */
+    public void setChannelCapacity(int channelCapacity) {
+        if (channelCapacity < 1) {
+            throw new IllegalArgumentException("The channel capacity must be at least 1.");
+        }
+        this.channelCapacity = channelCapacity;
+    }
+
+    /**
+     * Sets whether the emit and output stages run on virtual threads (default: true).
+     * 
+     * @param virtualThreadsForIO -> true to run the I/O stages on virtual threads
+     */
+    public void setVirtualThreadsForIO(boolean virtualThreadsForIO) {
+        this.virtualThreadsForIO = virtualThreadsForIO;
+    }
+
+    /**
+     * Main method to run the job scheduler.
+     * 
+     * Starts all the stages, waits for the output stage to complete and rethrows the first failure.
+     * This method is a frozen spot of the framework.
+     */
+    public void main() {
+        BoundedChannel<AJob<K, V>> jobs = new BoundedChannel<>(channelCapacity);
+        BoundedChannel<List<Pair<K, V>>> pairs = new BoundedChannel<>(channelCapacity);
+        BoundedChannel<Pair<K, List<V>>> groups = new BoundedChannel<>(channelCapacity);
+
+        ExecutorService ioExecutor = virtualThreadsForIO
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newCachedThreadPool();
+        ExecutorService cpuExecutor = Executors.newFixedThreadPool(computeWorkers + 1);
+        List<Future<?>> stages = new ArrayList<>();
+        BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+
+        try {
+            // Emit stage
+            stages.add(start(ioExecutor, completed, () -> {
+                try (Stream<AJob<K, V>> emitted = emitStrategy.emit()) {
+                    for (AJob<K, V> job : (Iterable<AJob<K, V>>) emitted::iterator) {
+                        jobs.put(job);
+                    }
+                }
+                jobs.close();
+                return null;
+            }));
+
+            // Compute stage: the last worker to finish closes the channel
+            AtomicInteger runningWorkers = new AtomicInteger(computeWorkers);
+            for (int i = 0; i < computeWorkers; i++) {
+                stages.add(start(cpuExecutor, completed, () -> {
+                    for (AJob<K, V> job = jobs.take(); job != null; job = jobs.take()) {
+                        execute(job, pairs);
+                    }
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        pairs.close();
+                    }
+                    return null;
+                }));
+            }
+
+            // Collect stage
+            stages.add(start(cpuExecutor, completed, () -> {
+                try (Stream<Pair<K, List<V>>> grouped = group(pairs.stream().flatMap(List::stream))) {
+                    for (Pair<K, List<V>> group : (Iterable<Pair<K, List<V>>>) grouped::iterator) {
+                        groups.put(group);
+                    }
+                }
+                groups.close();
+                return null;
+            }));
+
+            // Output stage
+            Future<?> output = start(ioExecutor, completed, () -> {
+                outputStrategy.output(groups.stream());
+                return null;
+            });
+            stages.add(output);
+
+            awaitAll(stages, completed, output);
+        } finally {
+            // Cancelled stages are waited for, so that none still uses the strategies once main() returns
+            ioExecutor.shutdownNow();
+            cpuExecutor.shutdownNow();
+            awaitTermination(ioExecutor);
+            awaitTermination(cpuExecutor);
+        }
+    }
+
+    /**
+     * Executes a job, sending its pairs to the channel in chunks.
+     * 
+     * @param job -> the job to execute
+     * @param pairs -> the channel towards the collect stage
+     * @throws InterruptedException if interrupted while waiting on the channel
+     */
+    private void execute(AJob<K, V> job, BoundedChannel<List<Pair<K, V>>> pairs) throws InterruptedException {
+        try (Stream<Pair<K, V>> results = job.execute()) {
+            List<Pair<K, V>> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Pair<K, V> pair : (Iterable<Pair<K, V>>) results::iterator) {
+                chunk.add(pair);
+                if (chunk.size() == CHUNK_SIZE) {
+                    pairs.put(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pairs.put(chunk);
+            }
+        }
+    }
+
+    /**
+     * Groups the pairs by key, through the grouping strategy if one is set.
+     * 
+     * @param stream -> stream of key-value pairs to be grouped
+     * @return Stream of pairs where each key is associated with a list of values
+     */
+    private Stream<Pair<K, List<V>>> group(Stream<Pair<K, V>> stream) {
+        if (groupingStrategy != null) {
+            return groupingStrategy.group(stream);
+        }
+
+        Map<K, List<V>> groupedMap = new HashMap<>();
+        stream.forEach(pair -> groupedMap.computeIfAbsent(pair.getKey(), key -> new ArrayList<>()).add(pair.getValue()));
+        return groupedMap.entrySet().stream()
+            .map(entry -> new Pair<>(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Starts a stage, reporting it to the given queue once it completes (normally or not).
+     * 
+     * @param executor -> the executor running the stage
+     * @param completed -> queue receiving the completed stages
+     * @param stage -> the work of the stage
+     * @return The running stage
+     */
+    private static Future<?> start(ExecutorService executor, BlockingQueue<Future<?>> completed, Callable<Void> stage) {
+        FutureTask<Void> task = new FutureTask<>(stage) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits for the stages in completion order until the output stage completes; on the first failure
+     * cancels the others and rethrows it.
+     * 
+     * Waiting in completion order matters: a stage blocked on a full channel would never complete
+     * if the stage consuming it has failed or returned without draining it. For the same reason
+     * the stages still running when the output stage completes are cancelled.
+     * 
+     * @param stages -> the running stages
+     * @param completed -> queue receiving the completed stages
+     * @param output -> the output stage, whose completion completes the run
+     */
+    private static void awaitAll(List<Future<?>> stages, BlockingQueue<Future<?>> completed, Future<?> output) {
+        try {
+            for (int i = 0; i < stages.size(); i++) {
+                Future<?> stage = completed.take();
+                stage.get();
+                if (stage == output) {
+                    stages.forEach(running -> running.cancel(true));
+                    return;
+                }
+            }
+        } catch (ExecutionException e) {
+            stages.forEach(stage -> stage.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException | CancellationException e) {
+            stages.forEach(stage -> stage.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Waits for the (already shut down) workers of an executor to finish.
+     * 
+     * @param executor -> the executor to wait for
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.framework.Strategies;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implements the ExecutionStrategy with cost-aware scheduling, aimed at the tail latency of the whole run.
+ *
+ * The tasks are estimated by a CostModel and dealt to the workers longest first, each to the worker with the least
+ * estimated load (LPT scheduling), so that the largest tasks do not start last. Each worker runs its own queue
+ * from the longest task down; a worker whose queue is empty steals the shortest pending task of the most loaded one,
+ * absorbing the errors of the estimates. Tasks of unknown cost are started first.
+ *
+ * Optionally, a task running far past its estimate (calibrated against the tasks completed so far) is speculatively
+ * duplicated by an idle worker, and the result of whichever copy finishes first is used. Tasks must then be free
+ * of side effects other than idempotent ones (e.g. the result cache), and monitors count both copies.
+ *
+ * Results are returned in the encounter order of the tasks, as required by ExecutionStrategy, so the results
+ * of tasks completed ahead of that order are held until they are consumed. To bound them, as the reorder buffer
+ * of ParallelExecutionStrategy does, only the tasks within LOOKAHEAD_FACTOR * parallelism of the next result
+ * to consume are dealt to the workers: the longest-first order applies within that window, which slides as the
+ * results are consumed. All the tasks (not their results) are pulled from the source upfront to be estimated.
+ *
+ * The executor must be able to run {@code parallelism} workers at the same time. It is shut down by close()
+ * only when created by the factory method.
+ *
+ * @author Faxy
+ */
+public class CostAwareExecutionStrategy implements ExecutionStrategy, AutoCloseable {
+    private static final long MIN_SPECULATION_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // Shorter tasks are never duplicated
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5); // Idle workers look for work this often
+    private static final int LOOKAHEAD_FACTOR = 4; // Tasks dealt ahead of the consumer, per worker
+
+    // Longest first, tasks of unknown cost before all the others, then in encounter order
+    private static final Comparator<Slot<?, ?>> LONGEST_FIRST = Comparator
+        .comparingLong((Slot<?, ?> slot) -> slot.cost < 0 ? Long.MAX_VALUE : slot.cost).reversed()
+        .thenComparingInt(slot -> slot.index);
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final CostModel costModel;
+    private final boolean ownsExecutor; // The executor was created by the factory method, and is shut down by close()
+    private double speculationFactor; // 0 means no speculation
+
+    /**
+     * Constructor to initialize the executor, the number of workers and the cost model.
+     *
+     * The executor is not shut down by close().
+     *
+     * @param executor - Executor on which the workers run
+     * @param parallelism - Number of workers
+     * @param costModel - Model estimating the cost of the tasks
+     */
+    public CostAwareExecutionStrategy(ExecutorService executor, int parallelism, CostModel costModel) {
+        this(executor, parallelism, costModel, false);
+    }
+
+    private CostAwareExecutionStrategy(ExecutorService executor, int parallelism, CostModel costModel, boolean ownsExecutor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.costModel = costModel;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates a strategy backed by a fixed thread pool of daemon threads.
+     *
+     * @param parallelism -> number of workers
+     * @param costModel -> model estimating the cost of the tasks
+     * @return A new CostAwareExecutionStrategy
+     */
+    public static CostAwareExecutionStrategy fixed(int parallelism, CostModel costModel) {
+        return new CostAwareExecutionStrategy(Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }), parallelism, costModel, true);
+    }
+
+    /**
+     * Enables speculative execution of stragglers (disabled by default).
+     *
+     * @param speculationFactor -> a task is duplicated once it has run this many times its expected duration
+     *                             (greater than 1), or 0 to disable speculation
+     */
+    public void setSpeculationFactor(double speculationFactor) {
+        if (speculationFactor != 0 && !(speculationFactor > 1)) {
+            throw new IllegalArgumentException("The speculation factor must be greater than 1, or 0.");
+        }
+        this.speculationFactor = speculationFactor;
+    }
+
+    /**
+     * Schedules the tasks by cost and returns their results in encounter order.
+     *
+     * The tasks are pulled from the source and scheduled when the first result is requested;
+     * consuming a result lets the workers start the tasks entering the look-ahead window.
+     *
+     * @param tasks -> stream of tasks to be executed
+     * @param work -> function computing the result of a single task
+     * @return A stream of results, in the same order as the tasks
+     */
+    @Override
+    public <T, R> Stream<R> execute(Stream<T> tasks, Function<? super T, ? extends R> work) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Iterator<R> results = new Iterator<R>() {
+            private Run<T, R> run;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (run == null) {
+                    run = new Run<>(tasks.toList(), work, cancelled);
+                    run.start();
+                }
+                return next < run.slots.size();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                R result = ParallelExecutionStrategy.await(run.slots.get(next++).result);
+                run.admit(next);
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                cancelled.set(true); // Workers stop starting tasks
+                tasks.close();
+            });
+    }
+
+    /**
+     * Shuts down the underlying executor if it was created by the factory method.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A task with its estimate and its result.
+     */
+    private static final class Slot<T, R> {
+        final T task;
+        final int index; // Position in encounter order
+        final long cost; // Estimated cost (-1 if unknown)
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicBoolean speculated = new AtomicBoolean();
+        final AtomicInteger copies = new AtomicInteger(); // Copies currently running
+        volatile long startedAt;
+
+        Slot(T task, int index, long cost) {
+            this.task = task;
+            this.index = index;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * The scheduling of one stream of tasks: the queues of the workers and the calibration of the estimates.
+     */
+    private final class Run<T, R> {
+        final List<Slot<T, R>> slots;
+        private final Function<? super T, ? extends R> work;
+        private final AtomicBoolean cancelled;
+        private final List<NavigableSet<Slot<T, R>>> queues = new ArrayList<>(parallelism); // Pending tasks, longest first
+        private final AtomicLong[] pendingLoads = new AtomicLong[parallelism]; // Estimated cost left in each queue
+        private final Set<Slot<T, R>> running = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger remaining;
+        private final long unknownCost; // Weight of the tasks of unknown cost: that of the largest known one
+        private int admitted; // Tasks dealt to the workers so far (a prefix in encounter order), guarded by this
+        private long observedNanos; // Calibration of the estimates, guarded by this
+        private long observedCost;
+
+        Run(List<T> tasks, Function<? super T, ? extends R> work, AtomicBoolean cancelled) {
+            this.slots = new ArrayList<>(tasks.size());
+            long largest = 1;
+            for (T task : tasks) {
+                Slot<T, R> slot = new Slot<>(task, slots.size(), costModel.estimate(task));
+                slots.add(slot);
+                largest = Math.max(largest, slot.cost);
+            }
+            this.work = work;
+            this.cancelled = cancelled;
+            this.remaining = new AtomicInteger(slots.size());
+            this.unknownCost = largest;
+        }
+
+        /**
+         * Deals the tasks of the first window to the workers and starts the workers.
+         */
+        void start() {
+            for (int w = 0; w < parallelism; w++) {
+                queues.add(new ConcurrentSkipListSet<>(LONGEST_FIRST));
+                pendingLoads[w] = new AtomicLong();
+            }
+            admit(0);
+            for (int w = 0; w < Math.min(parallelism, slots.size()); w++) {
+                int worker = w;
+                executor.execute(() -> work(worker));
+            }
+        }
+
+        /**
+         * Deals the tasks entering the look-ahead window to the workers, longest first,
+         * each to the worker with the least estimated load (LPT).
+         *
+         * @param consumed -> number of results consumed so far
+         */
+        synchronized void admit(int consumed) {
+            int end = (int) Math.min(slots.size(), (long) consumed + LOOKAHEAD_FACTOR * parallelism);
+            if (end <= admitted) {
+                return;
+            }
+            List<Slot<T, R>> entering = new ArrayList<>(slots.subList(admitted, end));
+            entering.sort(LONGEST_FIRST);
+            for (Slot<T, R> slot : entering) {
+                int lightest = 0;
+                for (int w = 1; w < parallelism; w++) {
+                    if (pendingLoads[w].get() < pendingLoads[lightest].get()) {
+                        lightest = w;
+                    }
+                }
+                pendingLoads[lightest].addAndGet(weight(slot));
+                queues.get(lightest).add(slot);
+            }
+            admitted = end;
+        }
+
+        /**
+         * @return Whether all the tasks have been dealt to the workers
+         */
+        private synchronized boolean allAdmitted() {
+            return admitted == slots.size();
+        }
+
+        /**
+         * Loop of a worker: own tasks first, then stolen ones, then duplicates of stragglers until all tasks are done.
+         */
+        private void work(int worker) {
+            while (remaining.get() > 0 && !cancelled.get()) {
+                Slot<T, R> slot = queues.get(worker).pollFirst();
+                int owner = worker;
+                if (slot == null) {
+                    owner = victim(worker);
+                    slot = owner < 0 ? null : queues.get(owner).pollLast();
+                }
+                if (slot != null) {
+                    pendingLoads[owner].addAndGet(-weight(slot));
+                    run(slot, false);
+                    continue;
+                }
+
+                // Nothing to start, for good or until the consumer moves the window
+                Slot<T, R> straggler = speculationFactor == 0 ? null : straggler();
+                if (straggler != null) {
+                    run(straggler, true);
+                } else if (speculationFactor == 0 && allAdmitted()) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Finds the worker with the most estimated work left in its queue.
+         *
+         * @return Its index, or -1 if all the queues are empty
+         */
+        private int victim(int thief) {
+            int victim = -1;
+            for (int w = 0; w < parallelism; w++) {
+                if (w != thief && !queues.get(w).isEmpty() && (victim < 0 || pendingLoads[w].get() > pendingLoads[victim].get())) {
+                    victim = w;
+                }
+            }
+            return victim;
+        }
+
+        /**
+         * Runs a task (or a duplicate of it), completing its slot if this copy finishes first.
+         *
+         * A copy that fails only fails the task if no other copy is still running: a duplicate may make
+         * a task finish sooner, never make it fail.
+         */
+        private void run(Slot<T, R> slot, boolean speculative) {
+            if (slot.result.isDone()) {
+                return;
+            }
+            long start = System.nanoTime();
+            if (!speculative) {
+                slot.startedAt = start;
+                running.add(slot);
+            }
+            R result;
+            slot.copies.incrementAndGet();
+            try {
+                result = work.apply(slot.task);
+            } catch (RuntimeException | Error e) {
+                if (slot.copies.decrementAndGet() == 0 && slot.result.completeExceptionally(e)) {
+                    running.remove(slot);
+                    remaining.decrementAndGet();
+                }
+                return;
+            }
+            slot.copies.decrementAndGet();
+            if (slot.result.complete(result)) {
+                finished(slot, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Accounts a task completed by its first copy, calibrating the estimates with its duration.
+         */
+        private void finished(Slot<T, R> slot, long nanos) {
+            running.remove(slot);
+            remaining.decrementAndGet();
+            costModel.record(slot.task, nanos);
+            if (slot.cost > 0) {
+                synchronized (this) {
+                    observedNanos += nanos;
+                    observedCost += slot.cost;
+                }
+            }
+        }
+
+        /**
+         * Finds the running task that is the furthest past its expected duration, and marks it as duplicated.
+         *
+         * @return The task to duplicate, or null if no task runs long enough past its estimate
+         */
+        private Slot<T, R> straggler() {
+            double nanosPerCost;
+            synchronized (this) {
+                if (observedCost == 0) {
+                    return null; // No completed task to calibrate the estimates with
+                }
+                nanosPerCost = (double) observedNanos / observedCost;
+            }
+
+            long now = System.nanoTime();
+            Slot<T, R> straggler = null;
+            double worstRatio = speculationFactor;
+            for (Slot<T, R> slot : running) {
+                long elapsed = now - slot.startedAt;
+                if (slot.cost <= 0 || slot.speculated.get() || elapsed < MIN_SPECULATION_NANOS) {
+                    continue;
+                }
+                double ratio = elapsed / (slot.cost * nanosPerCost);
+                if (ratio > worstRatio) {
+                    worstRatio = ratio;
+                    straggler = slot;
+                }
+            }
+            return straggler != null && straggler.speculated.compareAndSet(false, true) ? straggler : null;
+        }
+
+        private long weight(Slot<T, R> slot) {
+            return slot.cost < 0 ? unknownCost : slot.cost;
+        }
+    }
+}
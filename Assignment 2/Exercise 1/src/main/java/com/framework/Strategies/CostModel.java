@@ -0,0 +1,41 @@
+package com.framework.Strategies;
+
+import com.framework.AJob;
+
+/**
+ * Interface CostModel.
+ *
+ * Estimates the cost of the tasks run by a CostAwareExecutionStrategy, and learns from their actual durations.
+ * Estimates only need to be proportional to the running times: the strategy compares them with each other,
+ * and calibrates them against the durations it observes.
+ *
+ * @author Faxy
+ */
+public interface CostModel {
+
+    /**
+     * Estimates the cost of a task.
+     *
+     * @param task -> the task (typically an AJob)
+     * @return The estimated cost, or -1 if unknown
+     */
+    long estimate(Object task);
+
+    /**
+     * Records the actual duration of a task that completed successfully (ignored by default).
+     *
+     * @param task -> the task
+     * @param nanos -> its running time in nanoseconds
+     */
+    default void record(Object task, long nanos) {
+    }
+
+    /**
+     * Returns a model estimating the cost of a job by the size of its input.
+     *
+     * @return A model using AJob.getInputSize(), unknown for other tasks
+     */
+    static CostModel inputSize() {
+        return task -> task instanceof AJob<?, ?> job ? job.getInputSize() : -1;
+    }
+}
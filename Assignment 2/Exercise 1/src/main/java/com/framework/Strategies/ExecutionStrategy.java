@@ -0,0 +1,28 @@
+package com.framework.Strategies;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Interface ExecutionStrategy.
+ *
+ * This interface defines how a stream of tasks (typically jobs) is executed by the framework.
+ * Implementations decide on which threads the work runs and how many tasks may be in flight at once,
+ * but must always return the results in the encounter order of the tasks, so that the outcome
+ * does not depend on the chosen strategy.
+ *
+ * @author Faxy
+ */
+public interface ExecutionStrategy {
+
+    /**
+     * Applies the given work to every task and returns the results.
+     *
+     * @param <T> - Type of the tasks
+     * @param <R> - Type of the results
+     * @param tasks -> stream of tasks to be executed
+     * @param work -> function computing the result of a single task
+     * @return A stream of results, in the same order as the tasks
+     */
+    <T, R> Stream<R> execute(Stream<T> tasks, Function<? super T, ? extends R> work);
+}
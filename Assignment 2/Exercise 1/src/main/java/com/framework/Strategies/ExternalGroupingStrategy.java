@@ -0,0 +1,391 @@
+package com.framework.Strategies;
+
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implements the GroupingStrategy with external (spill-to-disk) grouping.
+ * 
+ * Pairs are grouped in memory until the estimated footprint reaches the memory budget;
+ * then the buffered groups are sorted by key and written to a temporary run file.
+ * At the end the runs are k-way merged and the groups are handed out lazily, in key order,
+ * so only one group per run is in memory while the output consumes the stream.
+ * At most MAX_FAN_IN runs are open at once: beyond that, intermediate passes first merge
+ * consecutive runs into larger ones, so that values keep their encounter order.
+ * If nothing was spilled, the in-memory groups are returned directly.
+ * 
+ * Temporary files are deleted once the resulting stream is exhausted or closed.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public class ExternalGroupingStrategy<K, V> implements GroupingStrategy<K, V> {
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final long ENTRY_OVERHEAD = 64; // Estimated cost of a map entry and its list
+    private static final long VALUE_OVERHEAD = 8; // Estimated cost of a list slot
+    private static final int MAX_FAN_IN = 64; // Runs merged at once, bounding open files and read buffers
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final Comparator<? super K> keyOrder;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    /**
+     * Constructor to initialize codecs, key order and memory budget; runs go to the default temporary directory.
+     * 
+     * @param keyCodec - Codec for the keys
+     * @param valueCodec - Codec for the values
+     * @param keyOrder - Total order on keys used to sort and merge the runs
+     * @param memoryBudget - Estimated number of bytes of buffered groups before spilling
+     */
+    public ExternalGroupingStrategy(Codec<K> keyCodec, Codec<V> valueCodec, Comparator<? super K> keyOrder, long memoryBudget) {
+        this(keyCodec, valueCodec, keyOrder, memoryBudget, null);
+    }
+
+    /**
+     * Constructor to initialize codecs, key order, memory budget and directory of the run files.
+     * 
+     * @param keyCodec - Codec for the keys
+     * @param valueCodec - Codec for the values
+     * @param keyOrder - Total order on keys used to sort and merge the runs
+     * @param memoryBudget - Estimated number of bytes of buffered groups before spilling
+     * @param tempDirectory - Directory for the run files, or null for the default temporary directory
+     */
+    public ExternalGroupingStrategy(Codec<K> keyCodec, Codec<V> valueCodec, Comparator<? super K> keyOrder,
+            long memoryBudget, Path tempDirectory) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("The memory budget must be positive.");
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keyOrder = keyOrder;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Groups the pairs, spilling sorted runs to disk whenever the memory budget is exceeded.
+     * 
+     * @param pairs -> stream of key-value pairs to be grouped
+     * @return A stream of pairs where each key is associated with the list of its values
+     */
+    @Override
+    public Stream<Pair<K, List<V>>> group(Stream<Pair<K, V>> pairs) {
+        List<Path> runs = new ArrayList<>();
+        Map<K, List<V>> buffer = new HashMap<>();
+        long buffered = 0;
+
+        try (pairs) {
+            Iterator<Pair<K, V>> iterator = pairs.iterator();
+            while (iterator.hasNext()) {
+                Pair<K, V> pair = iterator.next();
+                List<V> values = buffer.get(pair.getKey());
+                if (values == null) {
+                    values = new ArrayList<>();
+                    buffer.put(pair.getKey(), values);
+                    buffered += ENTRY_OVERHEAD + keyCodec.weigh(pair.getKey());
+                }
+                values.add(pair.getValue());
+                buffered += VALUE_OVERHEAD + valueCodec.weigh(pair.getValue());
+
+                if (buffered >= memoryBudget) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                    buffered = 0;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                // Everything fits in memory: no need to go through the disk
+                return buffer.entrySet().stream()
+                    .map(entry -> new Pair<>(entry.getKey(), entry.getValue()));
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer));
+            }
+            while (runs.size() > MAX_FAN_IN) {
+                runs = mergePass(runs);
+            }
+        } catch (IOException e) {
+            deleteRuns(runs);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteRuns(runs);
+            throw e;
+        }
+
+        MergeIterator merge = new MergeIterator(runs);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(merge::close);
+    }
+
+    /**
+     * Writes the buffered groups, sorted by key, to a new run file.
+     * 
+     * Run layout: the number of groups, then for each group the key, the number of values and the values.
+     * 
+     * @param buffer -> the groups to write
+     * @return The path of the run file
+     * @throws IOException if the run cannot be written
+     */
+    private Path spill(Map<K, List<V>> buffer) throws IOException {
+        List<Map.Entry<K, List<V>>> entries = new ArrayList<>(buffer.entrySet());
+        entries.sort(Map.Entry.comparingByKey(keyOrder));
+
+        Path run = createRun();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE))) {
+            out.writeInt(entries.size());
+            for (Map.Entry<K, List<V>> entry : entries) {
+                writeGroup(out, entry.getKey(), entry.getValue());
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges the runs by groups of MAX_FAN_IN consecutive runs, deleting the merged ones.
+     * 
+     * @param runs -> the run files, in spill order
+     * @return The merged run files, in the same order
+     * @throws IOException if a run cannot be read or written
+     */
+    private List<Path> mergePass(List<Path> runs) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                merged.add(group.size() == 1 ? group.get(0) : mergeRuns(new ArrayList<>(group)));
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteRuns(merged);
+            throw e;
+        }
+        return merged;
+    }
+
+    /**
+     * Merges runs into a single run file, deleting them.
+     * 
+     * @param runs -> the run files to merge, in spill order
+     * @return The path of the merged run file
+     * @throws IOException if a run cannot be read or written
+     */
+    private Path mergeRuns(List<Path> runs) throws IOException {
+        Path run = createRun();
+        MergeIterator merge = null;
+        try {
+            merge = new MergeIterator(runs);
+            int groups = 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE))) {
+                out.writeInt(0); // Patched once the number of groups is known
+                while (merge.hasNext()) {
+                    Pair<K, List<V>> group = merge.next();
+                    writeGroup(out, group.getKey(), group.getValue());
+                    groups++;
+                }
+            }
+            try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, groups), 0);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteRuns(List.of(run));
+            throw e;
+        } finally {
+            if (merge != null) {
+                merge.close();
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Creates a new empty run file.
+     * 
+     * @return The path of the run file
+     * @throws IOException if the file cannot be created
+     */
+    private Path createRun() throws IOException {
+        return tempDirectory == null
+            ? Files.createTempFile("group-run", ".bin")
+            : Files.createTempFile(tempDirectory, "group-run", ".bin");
+    }
+
+    /**
+     * Writes a group to a run: the key, the number of values and the values.
+     * 
+     * @param out -> the run being written
+     * @param key -> the key of the group
+     * @param values -> the values of the group
+     * @throws IOException if the run cannot be written
+     */
+    private void writeGroup(DataOutputStream out, K key, List<V> values) throws IOException {
+        keyCodec.write(out, key);
+        out.writeInt(values.size());
+        for (V value : values) {
+            valueCodec.write(out, value);
+        }
+    }
+
+    /**
+     * Deletes the given run files, ignoring failures.
+     * 
+     * @param runs -> the run files to delete
+     */
+    private static void deleteRuns(List<Path> runs) {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over the groups of a run file.
+     */
+    private final class RunReader {
+        private final int index; // Position of the run, used to keep values in encounter order
+        private final DataInputStream in;
+        private int remaining; // Groups not read yet
+        private K key;
+        private List<V> values;
+
+        RunReader(int index, Path run) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+            this.remaining = in.readInt();
+        }
+
+        /**
+         * Reads the next group of the run into key and values.
+         * 
+         * @return false if the run is exhausted
+         * @throws IOException if the run cannot be read
+         */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            key = keyCodec.read(in);
+            int size = in.readInt();
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(valueCodec.read(in));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * K-way merge of the run files, producing one group per distinct key.
+     * 
+     * Runs holding the same key are merged in run order, so values keep their encounter order.
+     */
+    private final class MergeIterator implements Iterator<Pair<K, List<V>>> {
+        private final List<Path> runs;
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> heap;
+
+        MergeIterator(List<Path> runs) {
+            this.runs = runs;
+            Comparator<RunReader> byKey = (a, b) -> keyOrder.compare(a.key, b.key);
+            this.heap = new PriorityQueue<>(Math.max(1, runs.size()), byKey.thenComparingInt(reader -> reader.index));
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    RunReader reader = new RunReader(i, runs.get(i));
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        heap.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (heap.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Pair<K, List<V>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                RunReader first = heap.poll();
+                K key = first.key;
+                List<V> values = first.values;
+                reinsert(first);
+
+                // Concatenating the values of the same key coming from the following runs
+                while (!heap.isEmpty() && keyOrder.compare(heap.peek().key, key) == 0) {
+                    RunReader next = heap.poll();
+                    values.addAll(next.values);
+                    reinsert(next);
+                }
+                return new Pair<>(key, values);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void reinsert(RunReader reader) throws IOException {
+            if (reader.advance()) {
+                heap.add(reader);
+            }
+        }
+
+        /**
+         * Closes the readers and deletes the run files (idempotent).
+         */
+        void close() {
+            for (RunReader reader : readers) {
+                try {
+                    reader.in.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            readers.clear();
+            heap.clear();
+            deleteRuns(runs);
+        }
+    }
+}
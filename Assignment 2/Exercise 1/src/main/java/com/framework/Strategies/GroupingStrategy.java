@@ -0,0 +1,30 @@
+package com.framework.Strategies;
+
+import com.framework.Utils.Pair;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Interface GroupingStrategy.
+ * 
+ * This interface defines how the key-value pairs computed by the jobs are grouped by key
+ * before being handed to the OutputStrategy.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public interface GroupingStrategy<K, V> {
+
+    /**
+     * Groups the given pairs by key.
+     * 
+     * For every key, values must appear in the list in the same order as in the input stream.
+     * 
+     * @param pairs -> stream of key-value pairs to be grouped
+     * @return A stream of pairs where each key is associated with the list of its values
+     */
+    Stream<Pair<K, List<V>>> group(Stream<Pair<K, V>> pairs);
+}
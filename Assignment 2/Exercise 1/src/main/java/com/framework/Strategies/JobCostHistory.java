@@ -0,0 +1,157 @@
+package com.framework.Strategies;
+
+import com.framework.AJob;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the CostModel with the running times of the jobs in previous runs, persisted in a text file.
+ *
+ * Jobs are identified by their description (e.g. the processed file). A job seen before, with an input
+ * of the same size, is estimated by its past running time (a moving average of its runs); any other job
+ * is estimated from the size of its input, at the average speed (nanoseconds per byte) of all recorded jobs.
+ *
+ * Jobs that have been neither estimated nor recorded for RETENTION_DAYS are dropped when the history is loaded,
+ * so that the history does not keep growing with the inputs of past runs.
+ *
+ * The file holds one job per line: running time in nanoseconds, input size, time it was last seen (epoch milliseconds)
+ * and description, separated by tabs. Lines without the time (written before it was kept) count as seen at load time.
+ *
+ * @author Faxy
+ */
+public class JobCostHistory implements CostModel {
+    private static final double DEFAULT_NANOS_PER_BYTE = 10; // Speed assumed before any job is recorded
+    private static final long RETENTION_DAYS = 30; // Jobs not seen for this long are forgotten
+
+    private final Path historyFile;
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>(); // Epoch milliseconds, by description
+    private long recordedNanos; // Totals over the recorded jobs of known size, guarded by this
+    private long recordedBytes;
+
+    /**
+     * Recorded running time of a job.
+     */
+    private record Run(long nanos, long size) {
+    }
+
+    private JobCostHistory(Path historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    /**
+     * Loads the history from a file; a missing file gives an empty history.
+     *
+     * @param historyFile -> the file of the history (also the one written by save)
+     * @return The loaded history
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static JobCostHistory load(Path historyFile) throws IOException {
+        JobCostHistory history = new JobCostHistory(historyFile);
+        long now = System.currentTimeMillis();
+        long oldest = now - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+        if (Files.exists(historyFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    String[] fields = line.split("\t", 4);
+                    if (fields.length < 3) {
+                        continue;
+                    }
+                    String description = fields.length == 4 ? fields[3] : fields[2];
+                    long seen = fields.length == 4 ? Long.parseLong(fields[2]) : now;
+                    if (seen >= oldest) {
+                        history.put(description, new Run(Long.parseLong(fields[0]), Long.parseLong(fields[1])));
+                        history.lastSeen.put(description, seen);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Corrupted job cost history " + historyFile + ".", e);
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Estimates the running time of a job in nanoseconds.
+     *
+     * @param task -> the task
+     * @return The past running time of the job, or an estimate from its input size (-1 if neither is known)
+     */
+    @Override
+    public long estimate(Object task) {
+        if (!(task instanceof AJob<?, ?> job)) {
+            return -1;
+        }
+        lastSeen.put(job.getDescription(), System.currentTimeMillis());
+        Run run = runs.get(job.getDescription());
+        long size = job.getInputSize();
+        if (run != null && run.size() == size) {
+            return run.nanos();
+        }
+        return size < 0 ? -1 : Math.round(size * nanosPerByte());
+    }
+
+    /**
+     * Records the running time of a job, averaging it with the previous runs on the same input size.
+     *
+     * @param task -> the task
+     * @param nanos -> its running time in nanoseconds
+     */
+    @Override
+    public void record(Object task, long nanos) {
+        if (task instanceof AJob<?, ?> job) {
+            long size = job.getInputSize();
+            Run previous = runs.get(job.getDescription());
+            long average = previous != null && previous.size() == size ? (previous.nanos() + nanos) / 2 : nanos;
+            put(job.getDescription(), new Run(average, size));
+            lastSeen.put(job.getDescription(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Writes the history to its file (atomically replacing the previous one).
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save() throws IOException {
+        Path parent = historyFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(historyFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Run> entry : runs.entrySet()) {
+                long seen = lastSeen.getOrDefault(entry.getKey(), System.currentTimeMillis());
+                writer.write(entry.getValue().nanos() + "\t" + entry.getValue().size() + "\t" + seen + "\t" + entry.getKey());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stores the run of a job, keeping the totals of the average speed up to date.
+     */
+    private synchronized void put(String description, Run run) {
+        Run previous = runs.put(description, run);
+        if (previous != null && previous.size() > 0) {
+            recordedNanos -= previous.nanos();
+            recordedBytes -= previous.size();
+        }
+        if (run.size() > 0) {
+            recordedNanos += run.nanos();
+            recordedBytes += run.size();
+        }
+    }
+
+    private synchronized double nanosPerByte() {
+        return recordedBytes > 0 ? (double) recordedNanos / recordedBytes : DEFAULT_NANOS_PER_BYTE;
+    }
+}
@@ -25,4 +25,13 @@ public interface OutputStrategy<K, V> {
      * @param result - A stream of pairs containing keys and associated list of values
      */
     void output(Stream<Pair<K, List<V>>> result);
+
+    /**
+     * Returns the number of bytes written so far, for monitoring purposes.
+     * 
+     * @return The number of bytes written, or -1 if the strategy does not report it
+     */
+    default long getBytesWritten() {
+        return -1;
+    }
 }
@@ -0,0 +1,256 @@
+package com.framework.Strategies;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implements the ExecutionStrategy by running tasks concurrently on an executor.
+ *
+ * At most {@code parallelism} tasks are in flight at any time, and a new task is started as soon as any of them
+ * completes. Results are handed out in submission order through a bounded reorder buffer, so the resulting stream
+ * is identical to the one produced by a sequential execution.
+ *
+ * Executors created through the factory methods are owned by the strategy and are shut down by close();
+ * an executor given to the constructor belongs to the caller, who shuts it down.
+ *
+ * @author Faxy
+ */
+public class ParallelExecutionStrategy implements ExecutionStrategy, AutoCloseable {
+    private static final int REORDER_FACTOR = 4; // Results held ahead of the consumer, per worker
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final boolean ownsExecutor; // The executor was created by a factory method, and is shut down by close()
+
+    /**
+     * Constructor to initialize the executor and the parallelism cap.
+     *
+     * The executor is not shut down by close().
+     *
+     * @param executor - Executor on which tasks are run
+     * @param parallelism - Maximum number of tasks in flight at the same time
+     */
+    public ParallelExecutionStrategy(ExecutorService executor, int parallelism) {
+        this(executor, parallelism, false);
+    }
+
+    private ParallelExecutionStrategy(ExecutorService executor, int parallelism, boolean ownsExecutor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates a strategy backed by a dedicated ForkJoinPool.
+     *
+     * @param parallelism -> number of worker threads and maximum tasks in flight
+     * @return A new ParallelExecutionStrategy
+     */
+    public static ParallelExecutionStrategy forkJoin(int parallelism) {
+        return new ParallelExecutionStrategy(new ForkJoinPool(parallelism), parallelism, true);
+    }
+
+    /**
+     * Creates a strategy backed by a fixed thread pool of daemon threads.
+     *
+     * @param parallelism -> number of worker threads and maximum tasks in flight
+     * @return A new ParallelExecutionStrategy
+     */
+    public static ParallelExecutionStrategy fixed(int parallelism) {
+        return new ParallelExecutionStrategy(Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }), parallelism, true);
+    }
+
+    /**
+     * Creates a strategy that runs every task on its own virtual thread.
+     *
+     * Useful when tasks are dominated by I/O; the parallelism cap still bounds the tasks in flight.
+     *
+     * @param parallelism -> maximum tasks in flight
+     * @return A new ParallelExecutionStrategy
+     */
+    public static ParallelExecutionStrategy virtualThreads(int parallelism) {
+        return new ParallelExecutionStrategy(Executors.newVirtualThreadPerTaskExecutor(), parallelism, true);
+    }
+
+    /**
+     * Submits the tasks to the executor and returns their results in encounter order.
+     *
+     * The returned stream is lazy: tasks are pulled from the source when the first result is requested,
+     * then whenever a task completes or a result is consumed, keeping {@code parallelism} of them running.
+     * Results completed ahead of the encounter order are held in a reorder buffer of at most
+     * REORDER_FACTOR * parallelism results, so that a slow task delays the consumer but not the other tasks.
+     *
+     * @param tasks -> stream of tasks to be executed
+     * @param work -> function computing the result of a single task
+     * @return A stream of results, in the same order as the tasks
+     */
+    @Override
+    public <T, R> Stream<R> execute(Stream<T> tasks, Function<? super T, ? extends R> work) {
+        Window<T, R> window = new Window<>(tasks.iterator(), work);
+        Iterator<R> results = new Iterator<R>() {
+            @Override
+            public boolean hasNext() {
+                return window.hasNext();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return await(window.removeFirst());
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                window.stop(); // No task is started anymore
+                tasks.close();
+            });
+    }
+
+    /**
+     * Shuts down the underlying executor if it was created by a factory method.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The tasks of one stream that have been submitted and whose results have not been consumed yet, in encounter order.
+     *
+     * Tasks are pulled from the source and submitted both by the consumer and by the workers
+     * completing a task, always under the lock of the window.
+     */
+    private final class Window<T, R> {
+        private final Iterator<T> source;
+        private final Function<? super T, ? extends R> work;
+        private final Deque<CompletableFuture<R>> pending = new ArrayDeque<>();
+        private int running; // Submitted tasks that have not completed yet
+        private boolean stopped; // The source is exhausted or failed, or the stream is closed
+
+        Window(Iterator<T> source, Function<? super T, ? extends R> work) {
+            this.source = source;
+            this.work = work;
+        }
+
+        synchronized boolean hasNext() {
+            fill();
+            return !pending.isEmpty();
+        }
+
+        synchronized CompletableFuture<R> removeFirst() {
+            CompletableFuture<R> head = pending.removeFirst();
+            fill(); // A slot of the reorder buffer is free
+            return head;
+        }
+
+        synchronized void stop() {
+            stopped = true;
+        }
+
+        /**
+         * Submits tasks until parallelism of them are running or the reorder buffer is full.
+         *
+         * A failure of the source (or a rejection by the executor) is handed out in encounter order, as the next result.
+         */
+        private synchronized void fill() {
+            while (!stopped && running < parallelism && pending.size() < REORDER_FACTOR * parallelism) {
+                T task;
+                try {
+                    if (!source.hasNext()) {
+                        stopped = true;
+                        return;
+                    }
+                    task = source.next();
+                } catch (RuntimeException e) {
+                    pending.addLast(CompletableFuture.failedFuture(e));
+                    stopped = true;
+                    return;
+                }
+
+                CompletableFuture<R> result = new CompletableFuture<>();
+                pending.addLast(result);
+                running++;
+                try {
+                    executor.execute(() -> run(task, result));
+                } catch (RejectedExecutionException e) {
+                    running--;
+                    result.completeExceptionally(e);
+                    stopped = true;
+                }
+            }
+        }
+
+        /**
+         * Runs a task on a worker, then starts the next ones.
+         *
+         * The next tasks are submitted before the result is published: otherwise the consumer could take the result
+         * and find an empty window while the source still has tasks.
+         */
+        private void run(T task, CompletableFuture<R> result) {
+            R value = null;
+            Throwable failure = null;
+            try {
+                value = work.apply(task);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+
+            synchronized (this) {
+                running--;
+                fill();
+            }
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Waits for a submitted task and unwraps its outcome.
+     *
+     * @param future -> the pending result
+     * @return The result of the task
+     */
+    static <R> R await(Future<? extends R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.framework.Strategies;
+
+import com.framework.Utils.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Implements the GroupingStrategy with a hash-partitioned shuffle.
+ * 
+ * Pairs are routed by key hash into N partitions, in chunks, while being consumed.
+ * Each partition is grouped independently by its own worker, so grouping overlaps with
+ * the computation of the pairs and scales with the number of partitions.
+ * The resulting stream is the concatenation of the partitions.
+ * The queue of every partition is bounded: when a partition falls behind, the producer waits for it
+ * instead of buffering its chunks without limit.
+ * 
+ * The executor must be able to run all N partition workers at the same time. It is shut down by close()
+ * only when the strategy created it.
+ * 
+ * @param <K> - Type of keys
+ * @param <V> - Type of values
+ * 
+ * @author Faxy
+ */
+public class PartitionedGroupingStrategy<K, V> implements GroupingStrategy<K, V>, AutoCloseable {
+    private static final int CHUNK_SIZE = 4096; // Pairs handed over to a partition at once
+    private static final int QUEUE_CAPACITY = 16; // Chunks waiting for a partition before the producer blocks
+    private static final long WAIT_MILLIS = 100; // Time between two checks that the worker of a full queue is alive
+    private static final List<Object> END = new ArrayList<>(0); // Marks the end of a partition queue
+
+    private final ExecutorService executor;
+    private final int partitions;
+    private final boolean ownsExecutor; // The executor was created by the strategy, and is shut down by close()
+
+    /**
+     * Constructor to initialize the number of partitions, each grouped by its own daemon thread.
+     * 
+     * @param partitions - Number of partitions
+     */
+    public PartitionedGroupingStrategy(int partitions) {
+        this(Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }), partitions, true);
+    }
+
+    /**
+     * Constructor to initialize the executor and the number of partitions.
+     * 
+     * The executor is not shut down by close().
+     * 
+     * @param executor - Executor on which partition workers run
+     * @param partitions - Number of partitions
+     */
+    public PartitionedGroupingStrategy(ExecutorService executor, int partitions) {
+        this(executor, partitions, false);
+    }
+
+    private PartitionedGroupingStrategy(ExecutorService executor, int partitions, boolean ownsExecutor) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("The number of partitions must be at least 1.");
+        }
+        this.executor = executor;
+        this.partitions = partitions;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Routes the pairs into the partitions and groups every partition concurrently.
+     * 
+     * @param pairs -> stream of key-value pairs to be grouped
+     * @return A stream of pairs where each key is associated with the list of its values
+     */
+    @Override
+    public Stream<Pair<K, List<V>>> group(Stream<Pair<K, V>> pairs) {
+        List<BlockingQueue<List<Pair<K, V>>>> queues = new ArrayList<>(partitions);
+        List<Future<Map<K, List<V>>>> workers = new ArrayList<>(partitions);
+        List<List<Pair<K, V>>> buffers = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            BlockingQueue<List<Pair<K, V>>> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            workers.add(executor.submit(() -> groupPartition(queue)));
+            buffers.add(new ArrayList<>(CHUNK_SIZE));
+        }
+
+        try (pairs) {
+            pairs.forEachOrdered(pair -> {
+                int p = partitionOf(pair.getKey());
+                List<Pair<K, V>> buffer = buffers.get(p);
+                buffer.add(pair);
+                if (buffer.size() == CHUNK_SIZE) {
+                    handOver(queues.get(p), buffer, workers.get(p));
+                    buffers.set(p, new ArrayList<>(CHUNK_SIZE));
+                }
+            });
+        } finally {
+            // Flush the remaining pairs and let every worker terminate, even on failure
+            for (int p = 0; p < partitions; p++) {
+                if (!buffers.get(p).isEmpty()) {
+                    handOver(queues.get(p), buffers.get(p), workers.get(p));
+                }
+                handOver(queues.get(p), end(), workers.get(p));
+            }
+        }
+
+        List<Map<K, List<V>>> groupedPartitions = new ArrayList<>(partitions);
+        for (Future<Map<K, List<V>>> worker : workers) {
+            groupedPartitions.add(ParallelExecutionStrategy.await(worker));
+        }
+
+        // Concatenating the partitions into a single stream of pairs (of known size, so that it splits by partition)
+        return groupedPartitions.stream()
+            .map(partition -> partition.entrySet().stream().map(entry -> new Pair<>(entry.getKey(), entry.getValue())))
+            .reduce(Stream::concat)
+            .orElseGet(Stream::empty);
+    }
+
+    /**
+     * Shuts down the underlying executor if the strategy created it.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Puts a chunk in the queue of a partition, waiting while the queue is full.
+     * 
+     * @param <T> - Type of the chunks
+     * @param queue -> the queue of the partition
+     * @param chunk -> the chunk to hand over
+     * @param worker -> the worker of the partition, checked while waiting so that a failed one cannot block the producer
+     */
+    private static <T> void handOver(BlockingQueue<T> queue, T chunk, Future<?> worker) {
+        try {
+            while (!queue.offer(chunk, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (worker.isDone()) {
+                    ParallelExecutionStrategy.await(worker); // Rethrows the failure of the worker
+                    throw new IllegalStateException("A partition worker stopped before the end of its partition.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Groups the chunks received by one partition until the end marker.
+     * 
+     * @param queue -> the queue of chunks of the partition
+     * @return The grouped partition
+     */
+    private Map<K, List<V>> groupPartition(BlockingQueue<List<Pair<K, V>>> queue) throws InterruptedException {
+        Map<K, List<V>> grouped = new HashMap<>();
+        for (List<Pair<K, V>> chunk = queue.take(); chunk != end(); chunk = queue.take()) {
+            for (Pair<K, V> pair : chunk) {
+                grouped.computeIfAbsent(pair.getKey(), key -> new ArrayList<>()).add(pair.getValue());
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * Selects the partition of a key.
+     * 
+     * The hash is remixed so that keys of one partition do not share the low bits
+     * used by the HashMap of that partition.
+     * 
+     * @param key -> the key to route
+     * @return The index of the partition
+     */
+    private int partitionOf(K key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), partitions);
+    }
+
+    /**
+     * Returns the end marker with the element type of the partition queues.
+     * 
+     * @return The end marker
+     */
+    @SuppressWarnings("unchecked")
+    private List<Pair<K, V>> end() {
+        return (List<Pair<K, V>>) (List<?>) END;
+    }
+}
@@ -0,0 +1,34 @@
+package com.framework.Strategies;
+
+import com.framework.Utils.Pair;
+
+import java.util.stream.Stream;
+
+/**
+ * Interface ReducedOutputStrategy.
+ * 
+ * Counterpart of OutputStrategy for the reducing variant of the framework:
+ * each key is associated with a single accumulator instead of the list of all its values.
+ * 
+ * @param <K> - Type of keys in the results
+ * @param <A> - Type of accumulators in the results
+ * @author Faxy
+ */
+public interface ReducedOutputStrategy<K, A> {
+    
+    /**
+     * Outputs the given stream of pairs to a designated output format.
+     * 
+     * @param result - A stream of pairs containing keys and their accumulator
+     */
+    void output(Stream<Pair<K, A>> result);
+
+    /**
+     * Returns the number of bytes written so far, for monitoring purposes.
+     * 
+     * @return The number of bytes written, or -1 if the strategy does not report it
+     */
+    default long getBytesWritten() {
+        return -1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.framework.Strategies;
+
+import com.framework.Sketches.TopK;
+import com.framework.Utils.Pair;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Abstract OutputStrategy that only outputs the K keys with the most values.
+ *
+ * The groups are folded into bounded TopK heaps as they are consumed, so the output stage keeps O(K) entries
+ * instead of materializing and sorting the whole result. When the stream can be split without copying it
+ * (see TopK.select), it is consumed in parallel: every thread fills its own heap (e.g. over a different partition
+ * of a PartitionedGroupingStrategy), then the heaps are merged.
+ * The value lists are dropped as soon as they have been counted.
+ *
+ * Concrete subclasses implement write(List) to define how the ranked keys are written (hook method).
+ *
+ * @param <K> - Type of keys in the results
+ * @param <V> - Type of values in the results
+ *
+ * @author Faxy
+ */
+public abstract class TopKOutputStrategy<K, V> implements OutputStrategy<K, V> {
+    private final int k;
+    private final Comparator<? super K> tieBreak;
+
+    /**
+     * Constructor to initialize the number of keys to output.
+     *
+     * @param k - Number of keys to output
+     * @param tieBreak - Order of keys with the same number of values
+     */
+    protected TopKOutputStrategy(int k, Comparator<? super K> tieBreak) {
+        if (k < 1) {
+            throw new IllegalArgumentException("At least one key must be output.");
+        }
+        this.k = k;
+        this.tieBreak = tieBreak;
+    }
+
+    /**
+     * Selects the K keys with the most values and writes them.
+     *
+     * @param result -> stream of pairs containing keys and associated list of values
+     */
+    @Override
+    public void output(Stream<Pair<K, List<V>>> result) {
+        TopK<K> top = TopK.select(result, k, tieBreak, Pair::getKey, pair -> pair.getValue().size());
+        write(top.toList());
+    }
+
+    /**
+     * Writes the selected keys (hook method).
+     *
+     * @param top -> the K keys with the most values and their number of values, by decreasing number
+     */
+    protected abstract void write(List<Pair<K, Long>> top);
+}
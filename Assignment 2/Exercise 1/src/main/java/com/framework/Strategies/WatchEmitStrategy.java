@@ -0,0 +1,48 @@
+package com.framework.Strategies;
+
+import com.framework.AJob;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interface WatchEmitStrategy.
+ * 
+ * Emit strategy for long-running (incremental) executions: instead of emitting all jobs once,
+ * it keeps watching its sources and notifies a listener with a job for every new or modified source
+ * and with the identifiers of the removed ones.
+ * 
+ * @param <K> - Type of keys for the jobs
+ * @param <V> - Type of values for the jobs
+ * 
+ * @author Faxy
+ */
+public interface WatchEmitStrategy<K, V> {
+
+    /**
+     * Receives the batches of changes detected by the strategy.
+     * 
+     * @param <K> - Type of keys for the jobs
+     * @param <V> - Type of values for the jobs
+     */
+    @FunctionalInterface
+    interface ChangeListener<K, V> {
+
+        /**
+         * Handles a batch of changes.
+         * 
+         * @param changed -> jobs for the new or modified sources, by source identifier
+         * @param removed -> identifiers of the removed sources
+         */
+        void onChanges(Map<String, AJob<K, V>> changed, Set<String> removed);
+    }
+
+    /**
+     * Watches the sources and notifies the listener until the calling thread is interrupted.
+     * 
+     * The first batch contains a job for every source existing when watching starts.
+     * 
+     * @param listener -> the listener to notify
+     */
+    void watch(ChangeListener<K, V> listener);
+}
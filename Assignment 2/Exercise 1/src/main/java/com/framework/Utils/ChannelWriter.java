@@ -0,0 +1,167 @@
+package com.framework.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buffered text writer on a FileChannel, for output strategies writing many short lines.
+ * 
+ * Text is encoded directly into a large direct ByteBuffer (ASCII with a fast path, anything else as UTF-8),
+ * numbers are formatted in place without creating Strings, and the channel is written only when the buffer is full,
+ * so a whole output takes a handful of system calls. Buffers are pooled, since direct buffers are costly to allocate.
+ * 
+ * A writer is not thread-safe.
+ * 
+ * @author Faxy
+ */
+public final class ChannelWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long bytesWritten; // Bytes accepted so far, flushed or not
+
+    /**
+     * Constructor that creates (or truncates) the output file.
+     * 
+     * @param path - Path to the output file
+     * @throws IOException if the file cannot be opened
+     */
+    public ChannelWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer pooled = POOL.poll();
+        this.buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a string.
+     * 
+     * @param text -> the text to write
+     * @return This writer
+     * @throws IOException if the channel cannot be written
+     */
+    public ChannelWriter write(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Slow path: encoding the rest of the text as UTF-8
+                writeBytes(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) c);
+            bytesWritten++;
+        }
+        return this;
+    }
+
+    /**
+     * Writes an ASCII character.
+     * 
+     * @param c -> the character to write (below 0x80)
+     * @return This writer
+     * @throws IOException if the channel cannot be written
+     */
+    public ChannelWriter write(char c) throws IOException {
+        if (c >= 0x80) {
+            return write(String.valueOf(c));
+        }
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) c);
+        bytesWritten++;
+        return this;
+    }
+
+    /**
+     * Writes the decimal representation of a number.
+     * 
+     * @param value -> the number to write
+     * @return This writer
+     * @throws IOException if the channel cannot be written
+     */
+    public ChannelWriter write(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return write(Long.toString(value));
+        }
+        if (buffer.remaining() < 20) {
+            flush();
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            bytesWritten++;
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+        bytesWritten += digits;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written so far (including those still buffered).
+     * 
+     * @return The number of bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Flushes the buffer, closes the file and returns the buffer to the pool.
+     * 
+     * @throws IOException if the channel cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try (channel) {
+            flush();
+        } finally {
+            buffer.clear();
+            POOL.offer(buffer);
+            buffer = null;
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        bytesWritten += bytes.length;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,114 @@
+package com.framework.Utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoder/decoder for keys and values that have to leave the heap (e.g. spilled to disk).
+ * 
+ * @param <T> - Type of the encoded objects
+ * 
+ * @author Faxy
+ */
+public interface Codec<T> {
+
+    /**
+     * Writes an object to the given output.
+     * 
+     * @param out -> the output to write to
+     * @param value -> the object to write
+     * @throws IOException if the output cannot be written
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Reads an object previously written by write.
+     * 
+     * @param in -> the input to read from
+     * @return The decoded object
+     * @throws IOException if the input cannot be read
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Estimates the heap footprint of an object, in bytes.
+     * 
+     * Used to account objects against a memory budget; the default is a rough guess for small objects.
+     * 
+     * @param value -> the object to weigh
+     * @return The estimated size in bytes
+     */
+    default long weigh(T value) {
+        return 16;
+    }
+
+    /**
+     * Returns a codec for strings (length-prefixed UTF-8, without the 64KB limit of writeUTF).
+     * 
+     * @return A string codec
+     */
+    static Codec<String> strings() {
+        return new Codec<>() {
+            private static final int CHUNK_SIZE = 1 << 16; // Strings up to this size are read at once
+
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Corrupted string length: " + length);
+                }
+                if (length <= CHUNK_SIZE) {
+                    byte[] bytes = new byte[length];
+                    in.readFully(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+                // Growing the buffer as the bytes arrive, so that a corrupted length fails at the end of the input
+                // instead of allocating up to 2GB
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(CHUNK_SIZE);
+                byte[] chunk = new byte[CHUNK_SIZE];
+                for (int remaining = length; remaining > 0; remaining -= chunk.length) {
+                    if (remaining < chunk.length) {
+                        chunk = new byte[remaining];
+                    }
+                    in.readFully(chunk);
+                    bytes.write(chunk);
+                }
+                return bytes.toString(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public long weigh(String value) {
+                return 40 + value.length();
+            }
+        };
+    }
+
+    /**
+     * Returns a codec for longs.
+     * 
+     * @return A long codec
+     */
+    static Codec<Long> longs() {
+        return new Codec<>() {
+            @Override
+            public void write(DataOutput out, Long value) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.framework.Columnar;
+
+import com.framework.Utils.Codec;
+import com.framework.Utils.Pair;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through ColumnarOutputStrategy and ColumnarReader, and reading of corrupted files.
+ *
+ * @author Faxy
+ */
+class ColumnarReaderTest {
+    private static final int ROWS = 10_000; // Spans several blocks
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds rows with distinct keys and values shared between rows (so the value dictionary is used).
+     */
+    private static List<Pair<String, List<String>>> rows() {
+        List<Pair<String, List<String>>> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            List<String> values = new ArrayList<>();
+            for (int j = 0; j <= i % 5; j++) {
+                values.add("value" + ((i + j) % 97));
+            }
+            rows.add(new Pair<>("key" + i, values));
+        }
+        return rows;
+    }
+
+    private Path write(List<Pair<String, List<String>>> rows, boolean withValues) {
+        Path file = directory.resolve(withValues ? "with-values.col" : "counts.col");
+        new ColumnarOutputStrategy<>(file.toString(), Codec.strings(), Codec.strings(), withValues).output(rows.stream());
+        return file;
+    }
+
+    @Test
+    void roundTripWithValues() throws IOException {
+        List<Pair<String, List<String>>> rows = rows();
+        try (ColumnarReader<String, String> reader = ColumnarReader.open(write(rows, true), Codec.strings(), Codec.strings())) {
+            assertTrue(reader.hasValues());
+            assertEquals(ROWS, reader.getRows());
+            List<Pair<String, List<String>>> read = reader.stream().collect(Collectors.toList());
+            assertEquals(ROWS, read.size());
+            for (int i = 0; i < ROWS; i++) {
+                assertEquals(rows.get(i).getKey(), read.get(i).getKey());
+                assertEquals(rows.get(i).getValue(), read.get(i).getValue());
+            }
+        }
+    }
+
+    @Test
+    void roundTripWithoutValues() throws IOException {
+        List<Pair<String, List<String>>> rows = rows();
+        try (ColumnarReader<String, String> reader = ColumnarReader.open(write(rows, false), Codec.strings(), Codec.strings())) {
+            assertFalse(reader.hasValues());
+            List<Pair<String, Long>> counts = reader.counts().collect(Collectors.toList());
+            assertEquals(ROWS, counts.size());
+            for (int i = 0; i < ROWS; i++) {
+                assertEquals(rows.get(i).getKey(), counts.get(i).getKey());
+                assertEquals(rows.get(i).getValue().size(), counts.get(i).getValue());
+            }
+            assertTrue(reader.stream().allMatch(pair -> pair.getValue().isEmpty()));
+        }
+    }
+
+    @Test
+    void truncatedBlockIsReportedAsCorrupted() throws IOException {
+        Path file = write(rows(), true);
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            // Halving the compressed size of the first block in the footer index
+            raw.seek(raw.length() - ColumnarFormat.TRAILER_SIZE);
+            long footerOffset = raw.readLong();
+            long compressedSizePosition = footerOffset + Integer.BYTES + Long.BYTES;
+            raw.seek(compressedSizePosition);
+            int compressedSize = raw.readInt();
+            raw.seek(compressedSizePosition);
+            raw.writeInt(compressedSize / 2);
+        }
+
+        try (ColumnarReader<String, String> reader = ColumnarReader.open(file, Codec.strings(), Codec.strings())) {
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> reader.stream().count());
+            assertEquals("Corrupted block 0.", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void corruptedFooterIsRejectedOnOpen() throws IOException {
+        Path file = write(rows(), false);
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length() - ColumnarFormat.TRAILER_SIZE);
+            long footerOffset = raw.readLong();
+            raw.seek(footerOffset);
+            raw.writeInt(-1); // Number of blocks
+        }
+
+        IOException e = assertThrows(IOException.class, () -> ColumnarReader.open(file, Codec.strings(), Codec.strings()));
+        assertEquals("Corrupted footer index.", e.getMessage());
+    }
+}
@@ -0,0 +1,86 @@
+package com.framework.Primitives;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks LongLongHashMap against java.util.HashMap, including the key 0 held apart from the table.
+ *
+ * @author Faxy
+ */
+class LongLongHashMapTest {
+
+    @Test
+    void zeroKeyIsHeldApart() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0, -1));
+
+        map.addTo(0, 5);
+        map.addTo(0, 2);
+        assertTrue(map.containsKey(0));
+        assertEquals(7, map.get(0, -1));
+        assertEquals(1, map.size());
+
+        map.merge(0, 3, Math::max);
+        assertEquals(7, map.get(0, -1));
+        map.put(0, 1);
+        assertEquals(1, map.get(0, -1));
+
+        long[] seen = {0, 0};
+        map.forEach((key, value) -> {
+            seen[0]++;
+            seen[1] = key;
+        });
+        assertEquals(1, seen[0]);
+        assertEquals(0, seen[1]);
+    }
+
+    @Test
+    void keepsEveryEntryAcrossRehashes() {
+        LongLongHashMap map = new LongLongHashMap(); // Starts at the minimum capacity
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) - 25_000L; // Negative, zero and repeated keys
+            map.addTo(key, i);
+            expected.merge(key, (long) i, Long::sum);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, Long.MIN_VALUE), "key " + key));
+        assertEquals(Long.MIN_VALUE, map.get(1L << 40, Long.MIN_VALUE));
+
+        Map<Long, Long> iterated = new HashMap<>();
+        map.forEach((key, value) -> assertNull(iterated.put(key, value)));
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void mergeAllCombinesSharedKeys() {
+        LongLongHashMap left = new LongLongHashMap();
+        LongLongHashMap right = new LongLongHashMap(1000);
+        for (long key = 0; key < 1000; key++) {
+            left.put(key, key);
+            right.put(key + 500, 1);
+        }
+
+        assertSame(left, left.mergeAll(right, Long::sum));
+        assertEquals(1500, left.size());
+        assertEquals(0, left.get(0, -1));
+        assertEquals(499, left.get(499, -1));
+        assertEquals(501, left.get(500, -1));
+        assertEquals(1000, left.get(999, -1));
+        assertEquals(1, left.get(1499, -1));
+        assertEquals(1000, right.size()); // Left unchanged
+    }
+}
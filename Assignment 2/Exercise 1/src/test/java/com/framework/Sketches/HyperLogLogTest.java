@@ -0,0 +1,84 @@
+package com.framework.Sketches;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the sparse and dense representations of HyperLogLog, their merge and the accuracy of the estimate.
+ *
+ * @author Faxy
+ */
+class HyperLogLogTest {
+    private static final int PRECISION = 12; // 4096 registers: sparse up to 512 distinct hashes
+
+    private static HyperLogLog sketch(long from, long to) {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (long element = from; element < to; element++) {
+            sketch.add(HyperLogLog.hash(element));
+        }
+        return sketch;
+    }
+
+    /**
+     * Asserts that an estimate is within four standard errors of the true cardinality.
+     */
+    private static void assertWithinBound(long cardinality, HyperLogLog sketch) {
+        double bound = 4 * HyperLogLog.relativeStandardError(PRECISION) * cardinality;
+        long estimate = sketch.estimate();
+        assertTrue(Math.abs(estimate - cardinality) <= bound,
+            "estimate " + estimate + " for " + cardinality + " (bound " + Math.round(bound) + ")");
+    }
+
+    @Test
+    void switchesFromSparseToDense() {
+        int sparseLimit = (1 << PRECISION) / Long.BYTES;
+        HyperLogLog sketch = sketch(0, sparseLimit);
+        assertTrue(sketch.isExact());
+        assertEquals(sparseLimit, sketch.estimate());
+        assertEquals(0, sketch.standardError());
+        assertEquals(Integer.toString(sparseLimit), sketch.toString());
+
+        sketch.add(HyperLogLog.hash(0)); // Duplicates do not count
+        assertTrue(sketch.isExact());
+        assertEquals(sparseLimit, sketch.estimate());
+
+        sketch.add(HyperLogLog.hash(sparseLimit));
+        assertFalse(sketch.isExact());
+        assertWithinBound(sparseLimit + 1, sketch);
+        assertTrue(sketch.toString().contains(" ±"));
+    }
+
+    @Test
+    void estimateIsWithinErrorBound() {
+        for (int cardinality : new int[] {1_000, 10_000, 100_000, 1_000_000}) {
+            assertWithinBound(cardinality, sketch(0, cardinality));
+        }
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        // Dense into dense, with overlap
+        HyperLogLog union = sketch(0, 60_000).merge(sketch(40_000, 100_000));
+        assertWithinBound(100_000, union);
+
+        // Sparse into sparse stays exact
+        HyperLogLog small = sketch(0, 100).merge(sketch(50, 150));
+        assertTrue(small.isExact());
+        assertEquals(150, small.estimate());
+
+        // Sparse into dense, and dense into sparse
+        assertWithinBound(50_100, sketch(0, 50_000).merge(sketch(50_000, 50_100)));
+        HyperLogLog sparse = sketch(50_000, 50_100).merge(sketch(0, 50_000));
+        assertFalse(sparse.isExact());
+        assertWithinBound(50_100, sparse);
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecisions() {
+        assertThrows(IllegalArgumentException.class, () -> sketch(0, 10).merge(new HyperLogLog(PRECISION + 1)));
+    }
+}